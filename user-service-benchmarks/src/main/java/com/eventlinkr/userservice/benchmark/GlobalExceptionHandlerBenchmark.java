@@ -0,0 +1,79 @@
+package com.eventlinkr.userservice.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.eventlinkr.userservice.exception.GlobalExceptionHandler;
+import com.eventlinkr.userservice.exception.ResourceNotFoundException;
+import com.eventlinkr.userservice.exception.ValidationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of turning an exception into an error response with
+ * {@link GlobalExceptionHandler#handle}, including logging.
+ * {@link #createAndHandle} also creates the exception, as a failed request
+ * does, so it shows the whole per-error cost. Each call needs a fresh
+ * exchange; {@link #createExchange} measures that part alone so it can be
+ * subtracted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    @Param({ "not_found", "validation", "unexpected" })
+    public String error;
+
+    private GlobalExceptionHandler handler;
+    private Supplier<RuntimeException> exceptionFactory;
+    private RuntimeException exception;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+        exceptionFactory = switch (error) {
+        case "not_found" -> () -> new ResourceNotFoundException("User", "5f0c6a52-8a3e-4a43-9f3c-0c4b0d1f2e3a");
+        case "validation" -> () -> new ValidationException(List.of("Email already exists", "Username already exists"));
+        default -> () -> new IllegalStateException("Connection reset");
+        };
+        exception = exceptionFactory.get();
+    }
+
+    @Benchmark
+    public MockServerWebExchange createExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/user/5f0c6a52-8a3e-4a43-9f3c-0c4b0d1f2e3a"));
+    }
+
+    @Benchmark
+    public MockServerWebExchange handle() {
+        MockServerWebExchange exchange = createExchange();
+        handler.handle(exchange, exception).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public MockServerWebExchange createAndHandle() {
+        MockServerWebExchange exchange = createExchange();
+        handler.handle(exchange, exceptionFactory.get()).block();
+        return exchange;
+    }
+}
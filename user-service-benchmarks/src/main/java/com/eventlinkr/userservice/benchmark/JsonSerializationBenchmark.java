@@ -0,0 +1,64 @@
+package com.eventlinkr.userservice.benchmark;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.eventlinkr.userservice.domain.dto.ApiError;
+import com.eventlinkr.userservice.domain.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of the two payloads every response carries: a
+ * {@link User} on success and an {@link ApiError} on failure. The mapper is
+ * built with Spring Boot's defaults.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private User user;
+    private ApiError apiError;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Instant now = Instant.now();
+        user = User.builder().id(UUID.randomUUID()).username("jdoe").email("jdoe@example.com").fullName("John Doe").headline("Software Engineer")
+                .profileLink("https://example.com/jdoe").avatarUrl("https://example.com/jdoe.png").bio("Builds event networking tools.")
+                .status(User.UserStatus.ACTIVE).provider("google").providerId("g-123456").createdAt(now).updatedAt(now).lastLoginAt(now)
+                .emailVerified(true).loginAttempts(0).version(3L).build();
+        apiError = new ApiError(400, "Validation error", "Validation failed: Email already exists, Username already exists");
+        apiError.addError("Email already exists");
+        apiError.addError("Username already exists");
+        apiError.setPath("/api/user");
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializeApiError() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(apiError);
+    }
+}
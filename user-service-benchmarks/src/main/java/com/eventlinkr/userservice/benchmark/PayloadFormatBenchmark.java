@@ -0,0 +1,107 @@
+package com.eventlinkr.userservice.benchmark;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.eventlinkr.userservice.domain.dto.UserLookupResult;
+import com.eventlinkr.userservice.domain.model.User;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Encoding and decoding a single {@link User} and a batch lookup result of
+ * {@code batchSize} users as JSON, CBOR and Smile, with mappers configured
+ * like the service's ({@code BinaryCodecsConfig}). The encoded size of each
+ * payload is printed at setup, as it is not something JMH measures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({ "json", "cbor", "smile" })
+    public String format;
+
+    @Param({ "100" })
+    public int batchSize;
+
+    private ObjectMapper mapper;
+    private JavaType batchType;
+    private User user;
+    private UserLookupResult<User> batch;
+    private byte[] encodedUser;
+    private byte[] encodedBatch;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper = switch (format) {
+        case "cbor" -> builder.factory(new CBORFactory()).build();
+        case "smile" -> builder.factory(new SmileFactory()).build();
+        default -> builder.build();
+        };
+        batchType = mapper.getTypeFactory().constructParametricType(UserLookupResult.class, User.class);
+
+        user = user(0);
+        List<User> users = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            users.add(user(i));
+        }
+        batch = new UserLookupResult<>(users, List.of(UUID.randomUUID()), List.of());
+        encodedUser = mapper.writeValueAsBytes(user);
+        encodedBatch = mapper.writeValueAsBytes(batch);
+        System.out.printf("%n%s payload: single user %d bytes, batch of %d users %d bytes%n", format, encodedUser.length, batchSize,
+                encodedBatch.length);
+    }
+
+    @Benchmark
+    public byte[] encodeUser() throws IOException {
+        return mapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public User decodeUser() throws IOException {
+        return mapper.readValue(encodedUser, User.class);
+    }
+
+    @Benchmark
+    public byte[] encodeBatch() throws IOException {
+        return mapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public UserLookupResult<User> decodeBatch() throws IOException {
+        return mapper.readValue(encodedBatch, batchType);
+    }
+
+    private static User user(int i) {
+        Instant now = Instant.now();
+        return User.builder().id(UUID.randomUUID()).username("attendee" + i).email("attendee" + i + "@example.com").fullName("Attendee Number " + i)
+                .headline("Software Engineer").profileLink("https://example.com/attendee" + i).avatarUrl("https://example.com/attendee" + i + ".png")
+                .bio("Builds event networking tools.").status(User.UserStatus.ACTIVE).provider("google").providerId("g-" + (100000 + i))
+                .createdAt(now).updatedAt(now).lastLoginAt(now).emailVerified(true).loginAttempts(0).version(3L).build();
+    }
+}
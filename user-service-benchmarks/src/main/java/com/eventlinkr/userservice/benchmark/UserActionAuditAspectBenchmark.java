@@ -0,0 +1,38 @@
+package com.eventlinkr.userservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+/**
+ * Overhead of the {@code UserService} advice ({@code UserActionAuditAspect}
+ * and {@code UserServiceMetricsAspect}): the same lookup through the advised
+ * Spring proxy and directly on the target. With the cache enabled the lookup
+ * itself is cheap, so the difference is mostly the advice, including
+ * enqueueing the audit event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserActionAuditAspectBenchmark {
+
+    @Benchmark
+    public User getUserByIdAdvised(UserServiceState state) {
+        return state.userService.getUserById(state.nextHotUserId()).block();
+    }
+
+    @Benchmark
+    public User getUserByIdUnadvised(UserServiceState state) {
+        return state.targetService.getUserById(state.nextHotUserId()).block();
+    }
+}
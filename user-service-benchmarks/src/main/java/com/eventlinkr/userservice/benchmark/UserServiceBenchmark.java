@@ -0,0 +1,96 @@
+package com.eventlinkr.userservice.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eventlinkr.userservice.domain.dto.CreateUserRequest;
+import com.eventlinkr.userservice.domain.dto.UserProfileUpdateRequest;
+import com.eventlinkr.userservice.domain.dto.UserProjection;
+import com.eventlinkr.userservice.domain.dto.UserSearchPage;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.domain.model.UserField;
+import com.eventlinkr.userservice.exception.ResourceNotFoundException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * End-to-end cost of the main {@code UserService} operations, blocking on
+ * each call, against in-memory H2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    // What an attendee list needs
+    private static final Set<UserField> ATTENDEE_FIELDS = UserField.parse("id,username,avatarUrl");
+
+    @Benchmark
+    public User createUser(UserServiceState state) {
+        long sequence = state.nextSequence();
+        CreateUserRequest request = new CreateUserRequest();
+        request.setUsername("bench" + sequence);
+        request.setEmail("bench" + sequence + "@example.com");
+        request.setFullName("Bench User");
+        return state.userService.createUserFromRequest(request).block();
+    }
+
+    @Benchmark
+    public User getUserById(UserServiceState state) {
+        return state.userService.getUserById(state.nextHotUserId()).block();
+    }
+
+    @Benchmark
+    public UserProjection getUserByIdProjected(UserServiceState state) {
+        return state.userService.getUserById(state.nextHotUserId(), ATTENDEE_FIELDS).block();
+    }
+
+    @Benchmark
+    public User getUserByProvider(UserServiceState state) {
+        return state.userService.getUserByProviderAndProviderId("google", state.nextHotProviderId()).block();
+    }
+
+    // A 404 as a scanner or stale link causes it, up to the exception the handler renders
+    @Benchmark
+    public User getMissingUserById(UserServiceState state) {
+        return state.userService.getUserById(state.nextMissingUserId()).onErrorResume(ResourceNotFoundException.class, error -> Mono.empty()).block();
+    }
+
+    @Benchmark
+    public User getMissingUserByProvider(UserServiceState state) {
+        return state.userService.getUserByProviderAndProviderId("google", state.nextMissingProviderId())
+                .onErrorResume(ResourceNotFoundException.class, error -> Mono.empty()).block();
+    }
+
+    @Benchmark
+    public Boolean isEmailAvailable(UserServiceState state) {
+        return state.userService.isEmailAvailable(state.nextHotEmail()).block();
+    }
+
+    @Benchmark
+    public UserSearchPage<User> searchUsers(UserServiceState state) {
+        return state.userService.searchUsers("user12", null, 20, false).block();
+    }
+
+    @Benchmark
+    public UserSearchPage<UserProjection> searchUsersProjected(UserServiceState state) {
+        return state.userService.searchUsers("user12", null, 20, false, ATTENDEE_FIELDS).block();
+    }
+
+    @Benchmark
+    public User patchUserProfile(UserServiceState state) {
+        UserProfileUpdateRequest request = new UserProfileUpdateRequest();
+        request.setHeadline("Headline " + state.nextSequence());
+        return state.userService.patchUserProfile(state.nextUserId(), request).block();
+    }
+}
@@ -0,0 +1,108 @@
+package com.eventlinkr.userservice.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.framework.Advised;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eventlinkr.userservice.UserServiceApplication;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.service.UserService;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Boots the user service without a web server against a private in-memory H2
+ * database seeded with {@link #SEEDED_USERS} users. {@link #userService} is
+ * the Spring bean, including the audit aspect proxy; {@link #targetService}
+ * is the same instance without the proxy.
+ */
+@State(Scope.Benchmark)
+public class UserServiceState {
+
+    static final int SEEDED_USERS = 10_000;
+
+    // Lookups cycle over this many users so that, with the cache enabled, they are served warm
+    static final int HOT_USERS = 100;
+
+    private static final int SEED_BATCH_SIZE = 500;
+
+    @Param({ "true", "false" })
+    public boolean cacheEnabled;
+
+    ConfigurableApplicationContext context;
+    UserService userService;
+    UserService targetService;
+    List<String> userIds;
+    List<String> missingUserIds;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        SpringApplication application = new SpringApplication(UserServiceApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run("--spring.r2dbc.url=r2dbc:h2:mem:///bench-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1",
+                "--eventlinkr.cache.enabled=" + cacheEnabled, "--logging.level.org.springframework.security=INFO",
+                "--logging.level.org.springframework.r2dbc=INFO");
+        userService = context.getBean(UserService.class);
+        targetService = (UserService) ((Advised) userService).getTargetSource().getTarget();
+
+        UserRepository userRepository = context.getBean("userRepository", UserRepository.class);
+        Instant now = Instant.now();
+        List<User> users = new ArrayList<>(SEEDED_USERS);
+        for (int i = 0; i < SEEDED_USERS; i++) {
+            users.add(User.builder().id(UUID.randomUUID()).username("user" + i).email("user" + i + "@example.com").fullName("First" + i + " Last" + i % 100)
+                    .status(User.UserStatus.ACTIVE).provider("google").providerId("g" + i).createdAt(now.minusSeconds(i)).updatedAt(now).build());
+        }
+        Flux.fromIterable(users).buffer(SEED_BATCH_SIZE).concatMap(userRepository::insertAll).blockLast();
+        userIds = users.stream().map(user -> user.getId().toString()).toList();
+        missingUserIds = users.stream().limit(HOT_USERS).map(user -> UUID.randomUUID().toString()).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    String nextUserId() {
+        return userIds.get((int) (sequence.getAndIncrement() % userIds.size()));
+    }
+
+    String nextHotUserId() {
+        return userIds.get((int) (sequence.getAndIncrement() % HOT_USERS));
+    }
+
+    String nextMissingUserId() {
+        return missingUserIds.get((int) (sequence.getAndIncrement() % HOT_USERS));
+    }
+
+    String nextMissingProviderId() {
+        return "missing" + sequence.getAndIncrement() % HOT_USERS;
+    }
+
+    String nextHotProviderId() {
+        return "g" + sequence.getAndIncrement() % HOT_USERS;
+    }
+
+    String nextHotEmail() {
+        return "user" + sequence.getAndIncrement() % HOT_USERS + "@example.com";
+    }
+
+    long nextSequence() {
+        return sequence.getAndIncrement();
+    }
+}
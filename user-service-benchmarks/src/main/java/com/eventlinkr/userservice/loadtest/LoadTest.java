@@ -0,0 +1,210 @@
+package com.eventlinkr.userservice.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.eventlinkr.userservice.UserServiceApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Open-loop HTTP load generator for the user service. Requests are issued at a
+ * fixed rate whatever the response times, and each latency is measured from
+ * the moment the request was due, so a saturated server shows up as growing
+ * latency rather than as a silently reduced request rate. Without
+ * {@code --target-url} the service is started in-process on its default
+ * in-memory H2 database, so a run needs nothing but this JVM.
+ *
+ * <p>
+ * Writes {@code report.json} plus one HdrHistogram percentile distribution
+ * ({@code .hgrm}) per operation to the report directory. See
+ * {@link LoadTestOptions} for the options.
+ */
+public final class LoadTest {
+
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final WebClient client;
+    private final LoadTestData data;
+    private final Operation[] schedule;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private LoadTest(LoadTestOptions options, WebClient client, LoadTestData data) {
+        this.options = options;
+        this.client = client;
+        this.data = data;
+        this.schedule = weightedSchedule(options.mix());
+        options.mix().keySet().forEach(operation -> stats.put(operation, new OperationStats()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = null;
+        String targetUrl = options.targetUrl();
+        if (targetUrl == null) {
+            context = startService();
+            targetUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("loadtest").maxConnections(options.maxInFlight())
+                .pendingAcquireMaxCount(options.maxInFlight()).build();
+        try {
+            WebClient client = WebClient.builder().baseUrl(targetUrl)
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider).responseTimeout(RESPONSE_TIMEOUT))).build();
+            System.out.printf("Seeding %d users on %s%n", options.users(), targetUrl);
+            LoadTest loadTest = new LoadTest(options, client, LoadTestData.seed(client, options.users()));
+            loadTest.run(targetUrl);
+        } finally {
+            connectionProvider.dispose();
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startService() {
+        return SpringApplication.run(UserServiceApplication.class, "--server.port=0",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///loadtest-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1",
+                "--logging.level.org.springframework.security=INFO", "--logging.level.org.springframework.r2dbc=INFO");
+    }
+
+    private void run(String targetUrl) throws IOException {
+        System.out.printf("Warming up for %s at %d req/s%n", options.warmup(), options.rate());
+        drive(options.warmup());
+        stats.values().forEach(OperationStats::reset);
+
+        System.out.printf("Recording for %s at %d req/s%n", options.duration(), options.rate());
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        drive(options.duration());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        writeReport(targetUrl, startedAt, seconds);
+    }
+
+    /**
+     * Issues requests on schedule for the given time, then waits for the
+     * outstanding ones to complete.
+     */
+    private void drive(Duration duration) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long due = start; due < end; due += intervalNanos) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(schedule[ThreadLocalRandom.current().nextInt(schedule.length)], due);
+        }
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private void send(Operation operation, long due) {
+        OperationStats operationStats = stats.get(operation);
+        if (inFlight.incrementAndGet() > options.maxInFlight()) {
+            inFlight.decrementAndGet();
+            operationStats.recordRejected();
+            return;
+        }
+        operation.call(client, data).doFinally(signal -> inFlight.decrementAndGet()).subscribe(status -> {
+            if (status.is2xxSuccessful()) {
+                operationStats.recordSuccess(System.nanoTime() - due);
+            } else {
+                operationStats.recordError(System.nanoTime() - due);
+            }
+        }, error -> operationStats.recordError(System.nanoTime() - due));
+    }
+
+    private void writeReport(String targetUrl, Instant startedAt, double seconds) throws IOException {
+        Path reportDir = options.reportDir();
+        Files.createDirectories(reportDir);
+
+        OperationStats total = new OperationStats();
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            String name = entry.getKey().displayName();
+            total.add(entry.getValue());
+            operations.put(name, entry.getValue().summary(seconds));
+            writeHistogram(reportDir.resolve(name + ".hgrm"), entry.getValue());
+        }
+        writeHistogram(reportDir.resolve("total.hgrm"), total);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("targetUrl", targetUrl);
+        report.put("targetRate", options.rate());
+        report.put("durationSeconds", seconds);
+        report.put("users", options.users());
+        report.put("maxInFlight", options.maxInFlight());
+        report.put("mix", options.mix().entrySet().stream().collect(LinkedHashMap::new, (mix, e) -> mix.put(e.getKey().displayName(), e.getValue()),
+                Map::putAll));
+        report.put("latencyUnit", "ms");
+        report.put("total", total.summary(seconds));
+        report.put("operations", operations);
+        Path reportFile = reportDir.resolve("report.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+
+        System.out.printf("%n%-12s %9s %8s %8s %10s %9s %9s %9s %9s %9s%n", "operation", "requests", "errors", "rejected", "req/s", "p50 ms",
+                "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        operations.forEach(LoadTest::printRow);
+        printRow("total", total.summary(seconds));
+        System.out.printf("%nReport written to %s%n", reportFile.toAbsolutePath());
+    }
+
+    private static void printRow(String name, Object summary) {
+        Map<?, ?> values = (Map<?, ?>) summary;
+        System.out.printf("%-12s %9d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, values.get("requests"), values.get("errors"),
+                values.get("rejected"), values.get("throughput"), values.get("p50"), values.get("p90"), values.get("p99"), values.get("p999"),
+                values.get("max"));
+    }
+
+    private static void writeHistogram(Path file, OperationStats operationStats) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            // Recorded in microseconds, reported in milliseconds
+            operationStats.histogram().outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static Operation[] weightedSchedule(Map<Operation, Integer> mix) {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("The operation mix needs a positive total weight");
+        }
+        Operation[] schedule = new Operation[totalWeight];
+        int next = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[next++] = entry.getKey();
+            }
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,67 @@
+package com.eventlinkr.userservice.loadtest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Users seeded through {@code POST /api/user/batch} before the run. Names
+ * carry a per-run prefix so that repeated runs against the same instance do
+ * not collide.
+ */
+final class LoadTestData {
+
+    static final String PROVIDER = "loadtest";
+
+    private final String prefix;
+    private final List<String> userIds;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private LoadTestData(String prefix, List<String> userIds) {
+        this.prefix = prefix;
+        this.userIds = userIds;
+    }
+
+    static LoadTestData seed(WebClient client, int users) {
+        String prefix = "lt" + Long.toString(System.nanoTime() % 1_000_000_000L, Character.MAX_RADIX) + "u";
+        Flux<String> records = Flux.range(0, users).map(i -> """
+                {"username":"%s%d","email":"%s%d@example.com","fullName":"Load Test %d","provider":"%s","providerId":"%s%d"}
+                """.formatted(prefix, i, prefix, i, i, PROVIDER, prefix, i));
+        List<String> userIds = client.post().uri("/api/user/batch").contentType(MediaType.APPLICATION_NDJSON).accept(MediaType.APPLICATION_NDJSON)
+                .body(records, String.class).retrieve().bodyToFlux(JsonNode.class).filter(result -> result.hasNonNull("id"))
+                .map(result -> result.get("id").asText()).collectList().block();
+        if (userIds == null || userIds.size() != users) {
+            throw new IllegalStateException("Seeded " + (userIds == null ? 0 : userIds.size()) + " of " + users + " users");
+        }
+        return new LoadTestData(prefix, userIds);
+    }
+
+    String randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    String randomProviderId() {
+        return prefix + ThreadLocalRandom.current().nextInt(userIds.size());
+    }
+
+    String randomSearchTerm() {
+        // Matches a handful of seeded users by username prefix
+        return prefix + ThreadLocalRandom.current().nextInt(Math.max(1, userIds.size() / 100));
+    }
+
+    String nextNewUsername() {
+        return prefix + "n" + sequence.incrementAndGet() + UUID.randomUUID().toString().substring(0, 4);
+    }
+
+    long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+}
@@ -0,0 +1,52 @@
+package com.eventlinkr.userservice.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of {@link LoadTest}, given as {@code --name=value}.
+ *
+ * @param rate        requests per second, issued on schedule whatever the
+ *                    response times (open loop)
+ * @param warmup      time run before recording starts
+ * @param duration    recorded run time
+ * @param mix         relative weight of each operation
+ * @param users       users seeded before the run
+ * @param maxInFlight requests allowed in flight; requests due beyond that
+ *                    count as errors instead of being queued
+ * @param targetUrl   base URL of a running instance, or null to start one
+ *                    in-process on H2
+ * @param reportDir   directory the report and histograms are written to
+ */
+record LoadTestOptions(int rate, Duration warmup, Duration duration, Map<Operation, Integer> mix, int users, int maxInFlight, String targetUrl,
+        Path reportDir) {
+
+    private static final String DEFAULT_MIX = "get=50,search=15,by-provider=15,create=10,update=10";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(Integer.parseInt(values.getOrDefault("rate", "500")), Duration.parse(values.getOrDefault("warmup", "PT10S")),
+                Duration.parse(values.getOrDefault("duration", "PT60S")), parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("users", "10000")), Integer.parseInt(values.getOrDefault("max-in-flight", "1024")),
+                values.get("target-url"), Path.of(values.getOrDefault("report-dir", "target/loadtest")));
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(Operation.fromName(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+}
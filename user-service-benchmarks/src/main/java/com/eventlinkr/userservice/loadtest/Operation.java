@@ -0,0 +1,77 @@
+package com.eventlinkr.userservice.loadtest;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The request types of the mixed workload. Each completes with the response
+ * status once the body has been fully received and discarded.
+ */
+enum Operation {
+
+    GET("get") {
+        @Override
+        Mono<HttpStatusCode> call(WebClient client, LoadTestData data) {
+            return exchange(client.get().uri("/api/user/{id}", data.randomUserId()));
+        }
+    },
+    SEARCH("search") {
+        @Override
+        Mono<HttpStatusCode> call(WebClient client, LoadTestData data) {
+            return exchange(client.get().uri(uri -> uri.path("/api/user/search").queryParam("query", data.randomSearchTerm()).queryParam("size", 20)
+                    .build()));
+        }
+    },
+    BY_PROVIDER("by-provider") {
+        @Override
+        Mono<HttpStatusCode> call(WebClient client, LoadTestData data) {
+            return exchange(client.get().uri(uri -> uri.path("/api/user/by-provider").queryParam("provider", LoadTestData.PROVIDER)
+                    .queryParam("provider-id", data.randomProviderId()).build()));
+        }
+    },
+    CREATE("create") {
+        @Override
+        Mono<HttpStatusCode> call(WebClient client, LoadTestData data) {
+            String username = data.nextNewUsername();
+            return exchange(client.post().uri("/api/user").contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("username", username, "email", username + "@example.com", "fullName", "Load Test")));
+        }
+    },
+    UPDATE("update") {
+        @Override
+        Mono<HttpStatusCode> call(WebClient client, LoadTestData data) {
+            return exchange(client.patch().uri("/api/user/{id}", data.randomUserId()).contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("headline", "Headline " + data.nextSequence())));
+        }
+    };
+
+    private final String name;
+
+    Operation(String name) {
+        this.name = name;
+    }
+
+    abstract Mono<HttpStatusCode> call(WebClient client, LoadTestData data);
+
+    String displayName() {
+        return name;
+    }
+
+    static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.name.equals(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + name);
+    }
+
+    private static Mono<HttpStatusCode> exchange(WebClient.RequestHeadersSpec<?> request) {
+        return request.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.eventlinkr.userservice.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histogram and error count of one operation. Latencies are recorded
+ * in microseconds from the time a request was scheduled, so that queueing
+ * behind a slow server shows up instead of being hidden by a late send.
+ */
+final class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    void recordSuccess(long latencyNanos) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void recordError(long latencyNanos) {
+        errors.increment();
+        recordSuccess(latencyNanos);
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    void add(OperationStats other) {
+        histogram.add(other.histogram);
+        errors.add(other.errors.sum());
+        rejected.add(other.rejected.sum());
+    }
+
+    void reset() {
+        histogram.reset();
+        errors.reset();
+        rejected.reset();
+    }
+
+    Histogram histogram() {
+        return histogram;
+    }
+
+    long requests() {
+        return histogram.getTotalCount() + rejected.sum();
+    }
+
+    long errors() {
+        return errors.sum() + rejected.sum();
+    }
+
+    /**
+     * Summary for the report; latencies in milliseconds.
+     */
+    Map<String, Object> summary(double seconds) {
+        long requests = requests();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("errors", errors());
+        summary.put("rejected", rejected.sum());
+        summary.put("errorRate", requests == 0 ? 0.0 : (double) errors() / requests);
+        summary.put("throughput", requests / seconds);
+        summary.put("p50", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p90", millis(histogram.getValueAtPercentile(90)));
+        summary.put("p99", millis(histogram.getValueAtPercentile(99)));
+        summary.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        summary.put("max", millis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
 import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import io.r2dbc.spi.ConnectionFactory;
 
@@ -18,8 +19,10 @@ import io.r2dbc.spi.ConnectionFactory;
  */
 @SpringBootApplication
 @EnableR2dbcRepositories
+@EnableScheduling
 public class UserServiceApplication {
     private static final Logger LOGGER = LoggerFactory.getLogger(UserServiceApplication.class);
+    private static final String POSTGRES_VENDOR = "PostgreSQL";
 
     public static void main(String[] args) {
         LOGGER.info("Starting User Service Application...");
@@ -28,17 +31,30 @@ public class UserServiceApplication {
     }
 
     /**
-     * Initializes the database with schema if needed.
+     * Initializes the database with schema if needed. Vendor-specific scripts
+     * (such as the PostgreSQL trigram search indexes) only run on their
+     * database.
      */
     @Bean
     ConnectionFactoryInitializer initializer(ConnectionFactory connectionFactory) {
         ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
         initializer.setConnectionFactory(connectionFactory);
 
-        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_users_table_postgres.sql"));
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_users_table_postgres.sql"),
+                new ClassPathResource("db/migration/V2__add_users_created_at_id_index.sql"),
+                new ClassPathResource("db/migration/V4__add_users_updated_at_id_index.sql"),
+                new ClassPathResource("db/migration/V5__add_users_insert_defaults_and_username_unique.sql"),
+                new ClassPathResource("db/migration/V6__add_users_version.sql"),
+                new ClassPathResource("db/migration/V7__create_audit_events_table.sql"),
+                new ClassPathResource("db/migration/V8__add_users_reaper_indexes.sql"),
+                new ClassPathResource("db/migration/V9__create_user_changes_table.sql"));
+        if (POSTGRES_VENDOR.equalsIgnoreCase(connectionFactory.getMetadata().getName())) {
+            populator.addScript(new ClassPathResource("db/migration/V3__add_users_search_indexes_postgres.sql"));
+            populator.addScript(new ClassPathResource("db/migration/V10__add_users_search_prefix_indexes_postgres.sql"));
+        }
         initializer.setDatabasePopulator(populator);
 
-        LOGGER.info("Database initialization configured");
+        LOGGER.info("Database initialization configured for {}", connectionFactory.getMetadata().getName());
         return initializer;
     }
 }
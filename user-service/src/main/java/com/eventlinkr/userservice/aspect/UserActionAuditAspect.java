@@ -1,23 +1,63 @@
 package com.eventlinkr.userservice.aspect;
 
+import java.util.UUID;
+
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.reactivestreams.Publisher;
 import org.springframework.stereotype.Component;
 
+import com.eventlinkr.userservice.audit.AuditTrail;
+import com.eventlinkr.userservice.domain.dto.CreateUserRequest;
+import com.eventlinkr.userservice.domain.model.User;
+
+/**
+ * Records every {@code UserService} call in the {@link AuditTrail}. Only a
+ * compact target is kept — a user id, a username or the leading scalar
+ * arguments — never a whole {@link User}, so credentials and profile data
+ * stay out of the audit trail.
+ */
 @Aspect
 @Component
 public class UserActionAuditAspect {
-    private static final Logger AUDIT_LOGGER = LoggerFactory.getLogger("AUDIT_LOGGER");
+
+    private static final int MAX_TARGET_LENGTH = 255;
+
+    private final AuditTrail auditTrail;
+
+    public UserActionAuditAspect(AuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
 
     @Before("execution(* com.eventlinkr.userservice.service.UserService.*(..))")
     public void logUserAction(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
+        auditTrail.record(joinPoint.getSignature().getName(), target(joinPoint.getArgs()));
+    }
+
+    static String target(Object[] args) {
+        if (args.length == 0) {
+            return null;
+        }
+        Object first = args[0];
+        if (first instanceof User user) {
+            return user.getId() != null ? user.getId().toString() : "username:" + user.getUsername();
+        }
+        if (first instanceof CreateUserRequest request) {
+            return "username:" + request.getUsername();
+        }
+        if (first instanceof Publisher<?>) {
+            return "stream";
+        }
+        if (!isScalar(first)) {
+            return first == null ? null : first.getClass().getSimpleName();
+        }
+        // Scalar keys such as ids or a (provider, providerId) pair
+        String target = args.length > 1 && isScalar(args[1]) && args[1] != null ? first + "/" + args[1] : String.valueOf(first);
+        return target.length() > MAX_TARGET_LENGTH ? target.substring(0, MAX_TARGET_LENGTH) : target;
+    }
 
-        // Basic audit logging with method name and arguments
-        AUDIT_LOGGER.info("User Action: Method={}, Arguments={}", methodName, args.length > 0 ? args[0] : "No arguments");
+    private static boolean isScalar(Object value) {
+        return value instanceof CharSequence || value instanceof UUID || value instanceof Enum<?>;
     }
 }
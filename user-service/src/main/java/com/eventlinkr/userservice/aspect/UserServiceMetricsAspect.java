@@ -0,0 +1,137 @@
+package com.eventlinkr.userservice.aspect;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import com.eventlinkr.userservice.exception.PreconditionFailedException;
+import com.eventlinkr.userservice.exception.ResourceNotFoundException;
+import com.eventlinkr.userservice.exception.ValidationException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Times every public {@code UserService} method as
+ * {@code eventlinkr.user.service} tagged with {@code method} and
+ * {@code outcome} ({@code success}, {@code not_found}, {@code validation},
+ * {@code conflict} or {@code error}). A failed precondition or a lost
+ * optimistic-locking race is an expected client conflict, not a fault, so it
+ * stays out of {@code error}.
+ * <p>
+ * For a {@link Mono} or {@link Flux} the sample runs from subscription until
+ * completion or error, so a streamed result is timed as a whole; cancelled
+ * calls are not recorded. Histogram buckets and SLOs come from
+ * {@code management.metrics.distribution.*}.
+ */
+@Aspect
+@Component
+public class UserServiceMetricsAspect {
+
+    static final String METRIC_NAME = "eventlinkr.user.service";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public UserServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.eventlinkr.userservice.service.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimers methodTimers = timers.computeIfAbsent(method, key -> new MethodTimers(meterRegistry, key.getName()));
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            methodTimers.record(e, System.nanoTime() - start);
+            throw e;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                return mono.doOnError(e -> sample.stop(methodTimers.forError(e)))
+                        .doFinally(signal -> stopOnComplete(signal, sample, methodTimers));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                return flux.doOnError(e -> sample.stop(methodTimers.forError(e)))
+                        .doFinally(signal -> stopOnComplete(signal, sample, methodTimers));
+            });
+        }
+        methodTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private static void stopOnComplete(SignalType signal, Timer.Sample sample, MethodTimers methodTimers) {
+        if (signal == SignalType.ON_COMPLETE) {
+            sample.stop(methodTimers.success);
+        }
+    }
+
+    static String outcome(Throwable e) {
+        if (e instanceof ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof ValidationException || e instanceof ConstraintViolationException || e instanceof IllegalArgumentException) {
+            return "validation";
+        }
+        if (e instanceof PreconditionFailedException || e instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        return "error";
+    }
+
+    private static final class MethodTimers {
+
+        final Timer success;
+        final Timer notFound;
+        final Timer validation;
+        final Timer conflict;
+        final Timer error;
+
+        MethodTimers(MeterRegistry meterRegistry, String method) {
+            this.success = timer(meterRegistry, method, "success");
+            this.notFound = timer(meterRegistry, method, "not_found");
+            this.validation = timer(meterRegistry, method, "validation");
+            this.conflict = timer(meterRegistry, method, "conflict");
+            this.error = timer(meterRegistry, method, "error");
+        }
+
+        Timer forError(Throwable e) {
+            return switch (outcome(e)) {
+            case "not_found" -> notFound;
+            case "validation" -> validation;
+            case "conflict" -> conflict;
+            default -> error;
+            };
+        }
+
+        void record(Throwable e, long nanos) {
+            forError(e).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, String method, String outcome) {
+            return Timer.builder(METRIC_NAME).description("UserService call latency").tag("method", method).tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
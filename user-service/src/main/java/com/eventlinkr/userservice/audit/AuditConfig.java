@@ -0,0 +1,32 @@
+package com.eventlinkr.userservice.audit;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Selects where {@link AuditTrail} writes: the {@code audit_events} table
+ * ({@code database}, the default) or an append-only JSON-lines file
+ * ({@code file}).
+ */
+@Configuration
+public class AuditConfig {
+
+    @Bean
+    public AuditSink auditSink(DatabaseClient databaseClient, ObjectMapper objectMapper, @Value("${eventlinkr.audit.sink:database}") String sink,
+            @Value("${eventlinkr.audit.file:audit/audit-events.jsonl}") Path file,
+            @Value("${eventlinkr.audit.write-timeout:PT5S}") Duration writeTimeout) throws IOException {
+        return switch (sink) {
+        case "database" -> new DatabaseAuditSink(databaseClient, writeTimeout);
+        case "file" -> new FileAuditSink(file, objectMapper);
+        default -> throw new IllegalArgumentException("Unknown audit sink " + sink + ", expected database or file");
+        };
+    }
+}
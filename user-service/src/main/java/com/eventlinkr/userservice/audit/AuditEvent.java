@@ -0,0 +1,12 @@
+package com.eventlinkr.userservice.audit;
+
+import java.time.Instant;
+
+/**
+ * One audited {@code UserService} call. {@code target} is a compact
+ * identifier of what the call was about (a user id, a username, a provider
+ * key), never the full arguments, so credentials and profile data stay out of
+ * the audit trail.
+ */
+public record AuditEvent(Instant occurredAt, String action, String target) {
+}
@@ -0,0 +1,16 @@
+package com.eventlinkr.userservice.audit;
+
+import java.util.List;
+
+/**
+ * Destination of audit batches. Called from the single audit writer thread
+ * only, so implementations may block and need not be thread-safe.
+ */
+public interface AuditSink extends AutoCloseable {
+
+    void write(List<AuditEvent> batch) throws Exception;
+
+    @Override
+    default void close() throws Exception {
+    }
+}
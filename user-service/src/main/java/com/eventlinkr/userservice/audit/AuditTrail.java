@@ -0,0 +1,186 @@
+package com.eventlinkr.userservice.audit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous audit pipeline. {@link #record} only enqueues into a bounded
+ * lock-free ring buffer, so the calling (event-loop) thread never formats,
+ * logs or writes anything. A single writer thread drains the buffer and hands
+ * events to the {@link AuditSink} in batches of up to {@code batch-size},
+ * flushing a partial batch once its oldest event has waited
+ * {@code flush-interval}.
+ * <p>
+ * When the buffer is full the {@link OverflowPolicy} decides which event is
+ * lost; drops, flushed events and failed writes are counted as
+ * {@code eventlinkr.audit.events} tagged {@code result}. Remaining events are
+ * flushed on shutdown.
+ */
+@Slf4j
+@Component
+public class AuditTrail implements SmartLifecycle {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Which event to give up when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Keep the buffered events and drop the one being recorded. */
+        DROP_NEWEST,
+        /** Drop the oldest buffered event to make room for the new one. */
+        DROP_OLDEST
+    }
+
+    private final AuditSink sink;
+    private final boolean enabled;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final Counter dropped;
+    private final Counter flushed;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public AuditTrail(AuditSink sink, MeterRegistry meterRegistry, @Value("${eventlinkr.audit.enabled:true}") boolean enabled,
+            @Value("${eventlinkr.audit.capacity:8192}") int capacity, @Value("${eventlinkr.audit.batch-size:256}") int batchSize,
+            @Value("${eventlinkr.audit.flush-interval:PT0.2S}") Duration flushInterval,
+            @Value("${eventlinkr.audit.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy) {
+        this.sink = sink;
+        this.enabled = enabled;
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.dropped = counter(meterRegistry, "dropped", "Audit events lost because the buffer was full");
+        this.flushed = counter(meterRegistry, "flushed", "Audit events written to the sink");
+        this.failed = counter(meterRegistry, "failed", "Audit events lost because the sink failed");
+        Gauge.builder("eventlinkr.audit.buffer.size", buffer, AuditRingBuffer::size).description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enqueues an audit event; never blocks.
+     */
+    public void record(String action, String target) {
+        if (!enabled) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(Instant.now(), action, target);
+        if (buffer.offer(event)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            // Consumers may free slots concurrently, so a few attempts suffice
+            for (int attempt = 0; attempt < 3; attempt++) {
+                if (buffer.poll() != null) {
+                    dropped.increment();
+                }
+                if (buffer.offer(event)) {
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::drain, "audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+        log.info("Audit trail started (capacity {}, batch size {}, overflow policy {})", buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+        try {
+            sink.close();
+        } catch (Exception e) {
+            log.warn("Error closing audit sink: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so calls still being
+     * served during a graceful shutdown are audited too.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long flushDeadline = 0;
+        while (true) {
+            boolean stopping = !running;
+            int drained = buffer.drainTo(batch, batchSize - batch.size());
+            long now = System.nanoTime();
+            if (drained > 0 && flushDeadline == 0) {
+                flushDeadline = now + flushIntervalNanos;
+            }
+            if (!batch.isEmpty() && (batch.size() >= batchSize || now - flushDeadline >= 0 || stopping)) {
+                write(batch);
+                batch.clear();
+                flushDeadline = 0;
+            } else if (stopping && batch.isEmpty()) {
+                return;
+            } else if (drained == 0) {
+                LockSupport.parkNanos(flushDeadline == 0 ? IDLE_PARK_NANOS : Math.min(IDLE_PARK_NANOS, flushDeadline - now));
+            }
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            sink.write(batch);
+            flushed.increment(batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.warn("Failed to write {} audit events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder("eventlinkr.audit.events").tag("result", result).description(description).register(meterRegistry);
+    }
+}
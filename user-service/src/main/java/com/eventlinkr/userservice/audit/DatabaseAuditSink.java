@@ -0,0 +1,43 @@
+package com.eventlinkr.userservice.audit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.spi.Parameters;
+
+/**
+ * Writes each batch to {@code audit_events} with one multi-row INSERT.
+ */
+class DatabaseAuditSink implements AuditSink {
+
+    private static final String INSERT_PREFIX = "INSERT INTO audit_events (occurred_at, action, target) VALUES ";
+
+    private final DatabaseClient databaseClient;
+    private final Duration timeout;
+
+    DatabaseAuditSink(DatabaseClient databaseClient, Duration timeout) {
+        this.databaseClient = databaseClient;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * 40).append(INSERT_PREFIX);
+        Map<String, Object> parameters = new HashMap<>(batch.size() * 4);
+        for (int i = 0; i < batch.size(); i++) {
+            AuditEvent event = batch.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:occurredAt").append(i).append(", :action").append(i).append(", :target").append(i).append(')');
+            parameters.put("occurredAt" + i, Parameters.in(event.occurredAt()));
+            parameters.put("action" + i, Parameters.in(event.action()));
+            parameters.put("target" + i, event.target() == null ? Parameters.in(String.class) : Parameters.in(event.target()));
+        }
+        databaseClient.sql(sql.toString()).bindValues(parameters).fetch().rowsUpdated().block(timeout);
+    }
+}
@@ -0,0 +1,238 @@
+package com.eventlinkr.userservice.availability;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.eventlinkr.userservice.availability.AvailabilityFilterStats.FilterStats;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.service.UserChangeListener;
+import com.eventlinkr.userservice.utils.LoggingFormat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bloom filters over the {@code email} and {@code username} columns that let
+ * availability checks answer "available" without a query when a value is
+ * definitely absent.
+ * <p>
+ * The filters are loaded from the database once the application is ready and
+ * rebuilt on a fixed interval or on demand; until the first load completes,
+ * every check falls through to the database. Creates and updates on this node
+ * are added as they happen. Writes made on other nodes are picked up every
+ * {@code sync-interval} by reading the identities updated since the previous
+ * sync, less {@code sync-overlap} to absorb clock skew between nodes and
+ * writes that commit late. A value written elsewhere can therefore read as
+ * available for about one sync interval; uniqueness is still enforced by the
+ * database. Deleted or renamed values cannot be removed from a Bloom filter
+ * and only cost an extra query until the next rebuild.
+ */
+@Slf4j
+@Component
+public class AvailabilityFilter implements UserChangeListener {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration syncOverlap;
+    private final AtomicBoolean rebuildInProgress = new AtomicBoolean();
+    private final AtomicBoolean syncInProgress = new AtomicBoolean();
+    private final Counter shortCircuited;
+    private final Counter fellThrough;
+
+    private volatile Filters current;
+    private volatile Filters rebuilding;
+    private volatile Instant syncedFrom;
+
+    public AvailabilityFilter(UserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${eventlinkr.availability-filter.enabled:true}") boolean enabled,
+            @Value("${eventlinkr.availability-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${eventlinkr.availability-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${eventlinkr.availability-filter.sync-overlap:PT30S}") Duration syncOverlap) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = syncOverlap;
+        this.shortCircuited = Counter.builder("users.availability.checks").tag("result", "filtered")
+                .description("Availability checks answered by the filter without a query").register(meterRegistry);
+        this.fellThrough = Counter.builder("users.availability.checks").tag("result", "database")
+                .description("Availability checks that fell through to the database").register(meterRegistry);
+        registerGauges(meterRegistry, "email", Filters::emails);
+        registerGauges(meterRegistry, "username", Filters::usernames);
+    }
+
+    /**
+     * Returns false only when {@code email} is definitely not stored.
+     */
+    public boolean mightContainEmail(String email) {
+        return mightContain(email, Filters::emails);
+    }
+
+    /**
+     * Returns false only when {@code username} is definitely not stored.
+     */
+    public boolean mightContainUsername(String username) {
+        return mightContain(username, Filters::usernames);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild().subscribe(stats -> log.info("Availability filters built at {}", stats.builtAt()),
+                error -> log.error(LoggingFormat.ERROR_OPERATION, "building availability filters", error.getMessage()));
+    }
+
+    @Scheduled(initialDelayString = "${eventlinkr.availability-filter.rebuild-interval:PT1H}",
+            fixedDelayString = "${eventlinkr.availability-filter.rebuild-interval:PT1H}")
+    public void scheduledRebuild() {
+        if (enabled && !rebuildInProgress.get()) {
+            load();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${eventlinkr.availability-filter.sync-interval:PT5S}",
+            fixedDelayString = "${eventlinkr.availability-filter.sync-interval:PT5S}")
+    public void scheduledSync() {
+        if (enabled && !syncInProgress.get()) {
+            sync().subscribe(null, error -> log.error(LoggingFormat.ERROR_OPERATION, "syncing availability filters", error.getMessage()));
+        }
+    }
+
+    /**
+     * Adds the identities of users created or updated since the previous
+     * sync, including those written on other nodes. Does nothing before the
+     * first load completes or while a rebuild is streaming, as the rebuild
+     * reads every row anyway.
+     */
+    public Mono<Void> sync() {
+        Instant from = syncedFrom;
+        if (!enabled || current == null || from == null || rebuildInProgress.get() || !syncInProgress.compareAndSet(false, true)) {
+            return Mono.empty();
+        }
+        Instant started = Instant.now();
+        return userRepository.findIdentitiesUpdatedSince(from.minus(syncOverlap)).doOnNext(identity -> record(identity.email(), identity.username()))
+                .then(Mono.fromRunnable(() -> syncedFrom = started)).then().doFinally(signal -> syncInProgress.set(false));
+    }
+
+    /**
+     * Streams every email and username into fresh filters sized for the
+     * current row count, then swaps them in. Writes that land while the
+     * rebuild is streaming are applied to both the old and new filters, and
+     * the next sync starts from when the rebuild began.
+     */
+    public Mono<AvailabilityFilterStats> rebuild() {
+        if (!enabled) {
+            return Mono.fromSupplier(this::stats);
+        }
+        if (!rebuildInProgress.compareAndSet(false, true)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Availability filter rebuild already in progress"));
+        }
+        Instant started = Instant.now();
+        return userRepository.count().flatMap(count -> {
+            Filters next = Filters.create(Math.max(expectedInsertions, count * 2), falsePositiveRate);
+            rebuilding = next;
+            return userRepository.findAllIdentities().doOnNext(identity -> next.put(identity.email(), identity.username()))
+                    .then(Mono.fromRunnable(() -> {
+                        current = next;
+                        syncedFrom = started;
+                    }));
+        }).then(Mono.fromSupplier(this::stats)).doFinally(signal -> {
+            rebuilding = null;
+            rebuildInProgress.set(false);
+        });
+    }
+
+    public AvailabilityFilterStats stats() {
+        Filters filters = current;
+        if (filters == null) {
+            return new AvailabilityFilterStats(enabled, false, null, null, null);
+        }
+        return new AvailabilityFilterStats(enabled, true, filters.builtAt(), statsOf(filters.emails()), statsOf(filters.usernames()));
+    }
+
+    @Override
+    public void onUserCreated(User user) {
+        record(user);
+    }
+
+    @Override
+    public void onUserUpdated(User user) {
+        record(user);
+    }
+
+    private void record(User user) {
+        record(user.getEmail(), user.getUsername());
+    }
+
+    private void record(String email, String username) {
+        Filters next = rebuilding;
+        if (next != null) {
+            next.put(email, username);
+        }
+        Filters filters = current;
+        if (filters != null) {
+            filters.put(email, username);
+        }
+    }
+
+    private boolean mightContain(String value, Function<Filters, BloomFilter> selector) {
+        Filters filters = current;
+        if (!enabled || filters == null || value == null || selector.apply(filters).mightContain(value)) {
+            fellThrough.increment();
+            return true;
+        }
+        shortCircuited.increment();
+        return false;
+    }
+
+    private void registerGauges(MeterRegistry meterRegistry, String column, Function<Filters, BloomFilter> selector) {
+        gauge(meterRegistry, "users.availability.filter.bits", column, selector, filter -> filter.bitSize());
+        gauge(meterRegistry, "users.availability.filter.bits.set", column, selector, filter -> filter.bitsSet());
+        gauge(meterRegistry, "users.availability.filter.fpp", column, selector, BloomFilter::expectedFalsePositiveRate);
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String name, String column, Function<Filters, BloomFilter> selector,
+            ToDoubleFunction<BloomFilter> value) {
+        Gauge.builder(name, this, filter -> {
+            Filters filters = filter.current;
+            return filters == null ? 0 : value.applyAsDouble(selector.apply(filters));
+        }).tag("column", column).register(meterRegistry);
+    }
+
+    private static FilterStats statsOf(BloomFilter filter) {
+        return new FilterStats(filter.bitSize(), filter.hashFunctions(), filter.bitsSet(), filter.expectedFalsePositiveRate());
+    }
+
+    private record Filters(BloomFilter emails, BloomFilter usernames, Instant builtAt) {
+
+        static Filters create(long expectedInsertions, double falsePositiveRate) {
+            return new Filters(BloomFilter.create(expectedInsertions, falsePositiveRate), BloomFilter.create(expectedInsertions, falsePositiveRate),
+                    Instant.now());
+        }
+
+        void put(String email, String username) {
+            if (email != null) {
+                emails.put(email);
+            }
+            if (username != null) {
+                usernames.put(username);
+            }
+        }
+    }
+}
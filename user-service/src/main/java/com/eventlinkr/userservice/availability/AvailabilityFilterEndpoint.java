@@ -0,0 +1,31 @@
+package com.eventlinkr.userservice.availability;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Admin endpoint at {@code /actuator/availabilityfilter}: GET reports filter
+ * size and false-positive rate, POST triggers a rebuild.
+ */
+@Component
+@Endpoint(id = "availabilityfilter")
+@RequiredArgsConstructor
+public class AvailabilityFilterEndpoint {
+
+    private final AvailabilityFilter availabilityFilter;
+
+    @ReadOperation
+    public AvailabilityFilterStats stats() {
+        return availabilityFilter.stats();
+    }
+
+    @WriteOperation
+    public Mono<AvailabilityFilterStats> rebuild() {
+        return availabilityFilter.rebuild();
+    }
+}
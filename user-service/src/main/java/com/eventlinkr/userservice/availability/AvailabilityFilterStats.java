@@ -0,0 +1,13 @@
+package com.eventlinkr.userservice.availability;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of the availability filters reported by the
+ * {@code availabilityfilter} actuator endpoint.
+ */
+public record AvailabilityFilterStats(boolean enabled, boolean ready, Instant builtAt, FilterStats email, FilterStats username) {
+
+    public record FilterStats(long bitSize, int hashFunctions, long bitsSet, double expectedFalsePositiveRate) {
+    }
+}
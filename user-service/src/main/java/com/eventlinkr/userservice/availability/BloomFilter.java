@@ -0,0 +1,109 @@
+package com.eventlinkr.userservice.availability;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings. Insertions may run concurrently with
+ * lookups; a value that was put is always reported as possibly present.
+ */
+final class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long SECOND_HASH_SEED = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        this.words = new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Sizes a filter for the given number of insertions at the target false
+     * positive rate using the standard optimal bit and hash-function counts.
+     */
+    static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long insertions = Math.max(1, expectedInsertions);
+        long bits = Math.max(64, (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / insertions * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    void put(String value) {
+        long first = mix(hash(value));
+        long second = mix(first ^ SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            set(Math.floorMod(first + i * second, bitSize));
+        }
+    }
+
+    boolean mightContain(String value) {
+        long first = mix(hash(value));
+        long second = mix(first ^ SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(first + i * second, bitSize);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    long bitsSet() {
+        return bitsSet.get();
+    }
+
+    /**
+     * Probability that an absent value is reported as possibly present, given
+     * the current fill ratio.
+     */
+    double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bitSize, hashFunctions);
+    }
+
+    private void set(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current = words.get(word);
+        while ((current & mask) == 0) {
+            if (words.compareAndSet(word, current, current | mask)) {
+                bitsSet.incrementAndGet();
+                return;
+            }
+            current = words.get(word);
+        }
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb9fe1a85ec53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+}
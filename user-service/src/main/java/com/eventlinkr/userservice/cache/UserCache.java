@@ -0,0 +1,92 @@
+package com.eventlinkr.userservice.cache;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.eventlinkr.userservice.domain.model.ProviderKey;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.service.UserChangeListener;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded, TTL-evicting read-through cache for user lookups by id and by
+ * (provider, providerId).
+ * <p>
+ * Entries hold the in-flight load future, so concurrent misses for the same
+ * key share one query. Every successful write invalidates the affected keys
+ * before the writer sees its result; a load that was still in flight at that
+ * moment is discarded with its mapping, so later reads on this node always
+ * go back to the database. Absent users are never cached. Hit, miss and
+ * eviction statistics are published as {@code cache.*} meters tagged
+ * {@code cache=users.by-id} and {@code cache=users.by-provider}.
+ */
+@Slf4j
+@Component
+public class UserCache implements UserChangeListener {
+
+    private final boolean enabled;
+    private final AsyncCache<UUID, User> usersById;
+    private final AsyncCache<ProviderKey, User> usersByProvider;
+
+    public UserCache(MeterRegistry meterRegistry, @Value("${eventlinkr.cache.enabled:true}") boolean enabled,
+            @Value("${eventlinkr.cache.maximum-size:10000}") long maximumSize, @Value("${eventlinkr.cache.ttl:5m}") Duration ttl) {
+        this.enabled = enabled;
+        this.usersById = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats()
+                .<UUID, User>buildAsync(), "users.by-id");
+        this.usersByProvider = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl)
+                .recordStats().<ProviderKey, User>buildAsync(), "users.by-provider");
+        log.info("User cache {} (maximum size {}, ttl {})", enabled ? "enabled" : "disabled", maximumSize, ttl);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Mono<User> getById(UUID id, Function<UUID, Mono<User>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return Mono.fromFuture(() -> usersById.get(id, (key, executor) -> loader.apply(key).toFuture()), true);
+    }
+
+    public Mono<User> getByProvider(ProviderKey providerKey, Function<ProviderKey, Mono<User>> loader) {
+        if (!enabled) {
+            return loader.apply(providerKey);
+        }
+        return Mono.fromFuture(() -> usersByProvider.get(providerKey, (key, executor) -> loader.apply(key).toFuture()), true);
+    }
+
+    @Override
+    public void onUserCreated(User user) {
+        invalidate(user);
+    }
+
+    @Override
+    public void onUserUpdated(User user) {
+        invalidate(user);
+    }
+
+    @Override
+    public void onUserDeleted(User user) {
+        invalidate(user);
+    }
+
+    private void invalidate(User user) {
+        if (user.getId() != null) {
+            usersById.synchronous().invalidate(user.getId());
+        }
+        if (user.getProvider() != null && user.getProviderId() != null) {
+            usersByProvider.synchronous().invalidate(new ProviderKey(user.getProvider(), user.getProviderId()));
+        }
+    }
+}
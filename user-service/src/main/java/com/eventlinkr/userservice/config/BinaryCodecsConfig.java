@@ -0,0 +1,91 @@
+package com.eventlinkr.userservice.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lets internal callers read and send users as CBOR
+ * ({@code application/cbor}) or Smile ({@code application/x-jackson-smile})
+ * instead of JSON text, which is cheaper to encode and parse and smaller on
+ * the wire. Both mappers come from Boot's {@link Jackson2ObjectMapperBuilder},
+ * so every format applies the same {@code spring.jackson.*} settings and
+ * carries the same fields as the JSON one.
+ * <p>
+ * The controllers list JSON first in their {@code produces}, which keeps it
+ * the answer to browsers and other clients that accept anything.
+ */
+@Configuration
+public class BinaryCodecsConfig implements WebFluxConfigurer {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private static final MediaType SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+
+    public BinaryCodecsConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.cborMapper = builders.getObject().factory(new CBORFactory()).build();
+        this.smileMapper = builders.getObject().factory(new SmileFactory()).build();
+    }
+
+    /**
+     * The media types are passed explicitly: given only a mapper, these codecs
+     * fall back to the JSON media types and would then claim JSON requests
+     * and responses for themselves.
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        // Smile has default codecs, but those would not share Boot's Jackson settings
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE));
+        configurer.customCodecs().registerWithDefaultConfig(new CborEncoder(cborMapper));
+        configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+    }
+
+    /**
+     * Spring's CBOR encoder only implements single-value encoding, which is all
+     * RSocket needs, but the HTTP writers always go through
+     * {@code encode(Publisher, ...)}. A single value is encoded as itself and a
+     * stream is collected and encoded as one CBOR array.
+     */
+    static final class CborEncoder extends Jackson2CborEncoder {
+
+        CborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType, MimeType mimeType,
+                Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> mono) {
+                return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return Flux.from(inputStream).collectList().map(values -> encodeValue(values, bufferFactory, listType, mimeType, hints)).flux();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.eventlinkr.userservice.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Option;
+import io.r2dbc.spi.ValidationDepth;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the R2DBC connection pool from {@code spring.r2dbc.*} instead of
+ * leaving it to auto-configuration, so that the pool can evict idle
+ * connections in the background, time every connection acquisition and be
+ * warmed up before anything uses it.
+ * <p>
+ * Sizing and timeouts are set per profile under {@code spring.r2dbc.pool}.
+ * Connections are validated locally on acquire, without a query round trip.
+ * Boot's {@code r2dbc.pool.*} gauges (acquired, allocated, idle, pending)
+ * find the pool through the timing wrapper; acquisition latency is published
+ * as {@code eventlinkr.r2dbc.pool.acquire}.
+ * <p>
+ * With {@code eventlinkr.r2dbc.replica.urls} set, one more pool with the same
+ * settings is built per replica and reads marked by {@code ReadRouting} are
+ * spread over them; see {@link ReplicaRoutingConnectionFactory}.
+ */
+@Slf4j
+@Configuration
+public class R2dbcPoolConfig {
+
+    /**
+     * Builds the pool and blocks until its initial connections are open. This
+     * runs before the schema initializer and long before readiness turns to
+     * accepting traffic, so neither the first requests nor startup pay for
+     * connection setup; and because opening connections is bounded by the
+     * create timeout rather than the (much shorter) acquire timeout, a cold
+     * database cannot fail startup through acquisition timeouts. A pool that
+     * cannot be warmed within the warm-up timeout fails startup; a replica
+     * that cannot is only logged.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionFactory connectionFactory(R2dbcProperties properties, MeterRegistry meterRegistry,
+            @Value("${eventlinkr.r2dbc.pool.background-eviction-interval:PT30S}") Duration backgroundEvictionInterval,
+            @Value("${eventlinkr.r2dbc.pool.warmup-timeout:PT30S}") Duration warmupTimeout,
+            @Value("${eventlinkr.r2dbc.replica.urls:}") List<String> replicaUrls,
+            @Value("${eventlinkr.r2dbc.replica.balancing:ROUND_ROBIN}") ReplicaRoutingConnectionFactory.Balancing balancing,
+            @Value("${eventlinkr.r2dbc.replica.retry-interval:PT10S}") Duration retryInterval) {
+        TimedConnectionFactory primary = new TimedConnectionFactory(
+                warmUp(buildPool(properties, properties.getUrl(), "user-service", backgroundEvictionInterval), warmupTimeout), meterRegistry);
+        if (replicaUrls.isEmpty()) {
+            return primary;
+        }
+
+        // Replicas take the primary's credentials and pool settings
+        List<ConnectionPool> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            ConnectionPool replica = buildPool(properties, replicaUrls.get(i), "user-service-replica-" + i, backgroundEvictionInterval);
+            try {
+                warmUp(replica, warmupTimeout);
+            } catch (RuntimeException e) {
+                // Reads fall back to the primary until the replica answers
+                log.warn("R2DBC replica pool {} could not be warmed up: {}", i, e.getMessage());
+            }
+            replicas.add(replica);
+        }
+        log.info("Routing replica-safe reads to {} replicas ({}, retry interval {})", replicas.size(), balancing, retryInterval);
+        return new ReplicaRoutingConnectionFactory(primary, replicas, balancing, retryInterval, meterRegistry);
+    }
+
+    private static ConnectionPool buildPool(R2dbcProperties properties, String url, String name, Duration backgroundEvictionInterval) {
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        ConnectionFactoryBuilder connectionFactoryBuilder = ConnectionFactoryBuilder.withUrl(url)
+                .configure(options -> properties.getProperties().forEach((option, value) -> options.option(Option.valueOf(option), value)));
+        map.from(properties.getUsername()).to(connectionFactoryBuilder::username);
+        map.from(properties.getPassword()).to(connectionFactoryBuilder::password);
+        ConnectionFactory connectionFactory = connectionFactoryBuilder.build();
+        if (connectionFactory instanceof ConnectionPool pool) {
+            // The URL asked for the pool itself (r2dbc:pool:...), use it as configured there
+            return pool;
+        }
+
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory).name(name)
+                .validationDepth(ValidationDepth.LOCAL).backgroundEvictionInterval(backgroundEvictionInterval);
+        map.from(pool.getInitialSize()).to(builder::initialSize);
+        map.from(pool.getMinIdle()).to(builder::minIdle);
+        map.from(pool.getMaxSize()).to(builder::maxSize);
+        map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+        map.from(pool.getMaxValidationTime()).to(builder::maxValidationTime);
+        map.from(pool.getValidationQuery()).whenHasText().to(builder::validationQuery);
+        map.from(pool.getValidationDepth()).to(builder::validationDepth);
+        log.info("R2DBC pool {} sized {}..{} (initial {}), max acquire time {}", name, pool.getMinIdle(), pool.getMaxSize(), pool.getInitialSize(),
+                pool.getMaxAcquireTime());
+        return new ConnectionPool(builder.build());
+    }
+
+    private static ConnectionPool warmUp(ConnectionPool pool, Duration timeout) {
+        long start = System.nanoTime();
+        Integer opened = pool.warmup().block(timeout);
+        log.info("R2DBC pool warmed up with {} connections in {} ms", opened, (System.nanoTime() - start) / 1_000_000);
+        return pool;
+    }
+}
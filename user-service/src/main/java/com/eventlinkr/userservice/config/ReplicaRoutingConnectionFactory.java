@@ -0,0 +1,158 @@
+package com.eventlinkr.userservice.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.eventlinkr.userservice.routing.ReadRouting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out replica connections to queries marked by {@link ReadRouting} and
+ * primary connections to everything else. Replicas are picked round-robin or
+ * by fewest pending plus acquired connections.
+ * <p>
+ * A replica that fails to hand out a connection is skipped for
+ * {@code retry-interval} and the query falls back to the primary; the next
+ * read after the interval probes it again. An acquire timeout only falls
+ * back, since a saturated replica is not a broken one. Reads are counted as
+ * {@code eventlinkr.r2dbc.reads} tagged {@code target=replica} or
+ * {@code fallback}. Boot's pool gauges still find the primary pool through
+ * this wrapper.
+ */
+@Slf4j
+class ReplicaRoutingConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory> {
+
+    /**
+     * How a replica is chosen for a read.
+     */
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_PENDING
+    }
+
+    private final TimedConnectionFactory primary;
+    private final List<Replica> replicas;
+    private final Balancing balancing;
+    private final long retryIntervalNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+
+    ReplicaRoutingConnectionFactory(TimedConnectionFactory primary, List<ConnectionPool> replicas, Balancing balancing, Duration retryInterval,
+            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.balancing = balancing;
+        this.retryIntervalNanos = retryInterval.toNanos();
+        this.replicaReads = counter(meterRegistry, "replica", "Replica-safe reads served by a replica");
+        this.fallbackReads = counter(meterRegistry, "fallback", "Replica-safe reads sent to the primary because no replica could serve them");
+        for (int i = 0; i < this.replicas.size(); i++) {
+            Replica replica = this.replicas.get(i);
+            Gauge.builder("eventlinkr.r2dbc.replica.healthy", replica, r -> r.isHealthy(System.nanoTime()) ? 1 : 0).tag("replica", String.valueOf(i))
+                    .description("Whether the replica is taking reads").register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.deferContextual(context -> ReadRouting.isReplicaRead(context) ? createForRead() : primary.create());
+    }
+
+    private Mono<Connection> createForRead() {
+        Replica replica = choose(System.nanoTime());
+        if (replica == null) {
+            fallbackReads.increment();
+            return primary.create();
+        }
+        return replica.pool.create().doOnNext(connection -> replicaReads.increment()).onErrorResume(error -> {
+            if (!(error instanceof R2dbcTimeoutException || error instanceof TimeoutException)) {
+                replica.markUnhealthy(System.nanoTime() + retryIntervalNanos);
+                log.warn("Replica {} failed, reading from the primary for {} ms: {}", replicas.indexOf(replica), retryIntervalNanos / 1_000_000,
+                        error.getMessage());
+            }
+            fallbackReads.increment();
+            return primary.create();
+        });
+    }
+
+    private Replica choose(long now) {
+        int size = replicas.size();
+        if (balancing == Balancing.LEAST_PENDING) {
+            Replica best = null;
+            int bestLoad = Integer.MAX_VALUE;
+            for (Replica replica : replicas) {
+                int load = replica.load();
+                if (load < bestLoad && replica.isHealthy(now)) {
+                    best = replica;
+                    bestLoad = load;
+                }
+            }
+            return best;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy(now)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return primary;
+    }
+
+    public void dispose() {
+        replicas.forEach(replica -> replica.pool.dispose());
+        primary.dispose();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String target, String description) {
+        return Counter.builder("eventlinkr.r2dbc.reads").tag("target", target).description(description).register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        final ConnectionPool pool;
+        private volatile long unhealthyUntil = System.nanoTime();
+
+        Replica(ConnectionPool pool) {
+            this.pool = pool;
+        }
+
+        boolean isHealthy(long now) {
+            return now - unhealthyUntil >= 0;
+        }
+
+        void markUnhealthy(long until) {
+            unhealthyUntil = until;
+        }
+
+        /**
+         * Callers waiting for a connection weigh more than connections in use.
+         */
+        int load() {
+            return pool.getMetrics().map(metrics -> metrics.pendingAcquireSize() * 1024 + metrics.acquiredSize()).orElse(0);
+        }
+    }
+}
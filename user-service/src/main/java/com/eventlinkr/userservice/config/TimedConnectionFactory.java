@@ -0,0 +1,72 @@
+package com.eventlinkr.userservice.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times how long callers wait to get a connection from the pool, tagged
+ * {@code outcome=success}, {@code timeout} (max acquire time exceeded) or
+ * {@code error}. Together with the pool's pending gauge this separates time
+ * spent queuing for a connection from time spent in the query.
+ */
+class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory> {
+
+    static final String ACQUIRE_METRIC = "eventlinkr.r2dbc.pool.acquire";
+
+    private final ConnectionPool pool;
+    private final Timer success;
+    private final Timer timeout;
+    private final Timer error;
+
+    TimedConnectionFactory(ConnectionPool pool, MeterRegistry meterRegistry) {
+        this.pool = pool;
+        this.success = timer(meterRegistry, "success");
+        this.timeout = timer(meterRegistry, "timeout");
+        this.error = timer(meterRegistry, "error");
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return pool.create().doOnEach(signal -> {
+                if (signal.isOnNext()) {
+                    success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                } else if (signal.isOnError()) {
+                    Throwable e = signal.getThrowable();
+                    Timer timer = e instanceof R2dbcTimeoutException || e instanceof TimeoutException ? timeout : error;
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return pool.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return pool;
+    }
+
+    public void dispose() {
+        pool.dispose();
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(ACQUIRE_METRIC).description("Time waited to acquire a pooled R2DBC connection").tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -3,8 +3,8 @@ package com.eventlinkr.userservice.domain.dto;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
+import com.eventlinkr.userservice.utils.ErrorIds;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 import lombok.Data;
@@ -22,7 +22,7 @@ public class ApiError {
     private String documentation;
 
     public ApiError(int status, String message, String detail) {
-        this.errorId = UUID.randomUUID().toString();
+        this.errorId = ErrorIds.next();
         this.status = status;
         this.message = message;
         this.detail = detail;
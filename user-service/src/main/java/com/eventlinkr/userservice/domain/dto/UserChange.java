@@ -0,0 +1,21 @@
+package com.eventlinkr.userservice.domain.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A compact record of one user write, as stored in the {@code user_changes}
+ * outbox and streamed to consumers. It names the user and the kind of change
+ * but carries no profile data; consumers that need the user fetch it, for
+ * many changes at once through the batch lookup. {@code offset} is assigned
+ * when the change is relayed and increases in the order changes become
+ * visible; it is what a consumer resumes from.
+ */
+public record UserChange(long offset, UUID userId, Type type, Long version, Instant occurredAt) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,65 @@
+package com.eventlinkr.userservice.domain.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+/**
+ * One row of {@code GET /api/user/export}. Credentials and login bookkeeping
+ * are left out; {@code updatedAt} and {@code id} of the last row received form
+ * the watermark for resuming an incremental export.
+ */
+public record UserExportRecord(UUID id, String username, String email, String fullName, String headline, String profileLink, String avatarUrl,
+        String bio, User.UserStatus status, String provider, String providerId, Boolean emailVerified, Instant createdAt, Instant updatedAt,
+        Instant lastLoginAt) {
+
+    public static final String CSV_HEADER = "id,username,email,fullName,headline,profileLink,avatarUrl,bio,status,provider,providerId,"
+            + "emailVerified,createdAt,updatedAt,lastLoginAt\n";
+
+    public static UserExportRecord from(User user) {
+        return new UserExportRecord(user.getId(), user.getUsername(), user.getEmail(), user.getFullName(), user.getHeadline(), user.getProfileLink(),
+                user.getAvatarUrl(), user.getBio(), user.getStatus(), user.getProvider(), user.getProviderId(), user.getEmailVerified(),
+                user.getCreatedAt(), user.getUpdatedAt(), user.getLastLoginAt());
+    }
+
+    /**
+     * Renders this record as one RFC 4180 CSV line, including the trailing
+     * line break. Null values are written as empty fields.
+     */
+    public String toCsvLine() {
+        StringBuilder line = new StringBuilder(256);
+        Object[] values = { id, username, email, fullName, headline, profileLink, avatarUrl, bio, status, provider, providerId, emailVerified,
+                createdAt, updatedAt, lastLoginAt };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            if (values[i] != null) {
+                appendCsvField(line, values[i].toString());
+            }
+        }
+        return line.append('\n').toString();
+    }
+
+    private static void appendCsvField(StringBuilder line, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
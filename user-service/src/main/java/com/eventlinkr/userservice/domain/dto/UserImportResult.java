@@ -0,0 +1,26 @@
+package com.eventlinkr.userservice.domain.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one NDJSON record sent to {@code POST /api/user/batch}; {@code index}
+ * is the zero-based position of the record in the request stream.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportResult(long index, Status status, UUID id, List<String> errors) {
+
+    public enum Status {
+        CREATED, FAILED
+    }
+
+    public static UserImportResult created(long index, UUID id) {
+        return new UserImportResult(index, Status.CREATED, id, null);
+    }
+
+    public static UserImportResult failed(long index, List<String> errors) {
+        return new UserImportResult(index, Status.FAILED, null, errors);
+    }
+}
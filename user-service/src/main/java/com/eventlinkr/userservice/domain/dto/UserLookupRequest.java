@@ -0,0 +1,18 @@
+package com.eventlinkr.userservice.domain.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.eventlinkr.userservice.domain.model.ProviderKey;
+
+import lombok.Data;
+
+/**
+ * Body of {@code POST /api/user/lookup}: user ids, provider keys or both.
+ */
+@Data
+public class UserLookupRequest {
+    private List<UUID> ids;
+
+    private List<ProviderKey> providers;
+}
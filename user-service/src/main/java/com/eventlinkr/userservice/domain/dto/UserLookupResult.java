@@ -0,0 +1,15 @@
+package com.eventlinkr.userservice.domain.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.eventlinkr.userservice.domain.model.ProviderKey;
+
+/**
+ * Outcome of a batch lookup, holding full users or {@link UserProjection}s.
+ * {@code users} lists the users found for the requested ids in request order,
+ * followed by those found for the requested provider keys; keys without a
+ * user are listed in {@code missingIds} and {@code missingProviders}.
+ */
+public record UserLookupResult<T>(List<T> users, List<UUID> missingIds, List<ProviderKey> missingProviders) {
+}
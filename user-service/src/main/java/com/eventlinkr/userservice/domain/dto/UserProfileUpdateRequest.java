@@ -26,4 +26,7 @@ public class UserProfileUpdateRequest {
 
     @Size(max = 255, message = "Profile link cannot exceed 255 characters")
     private String profileLink;
+
+    // Expected row version; when set, the update only applies if the stored version still matches
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.eventlinkr.userservice.domain.dto;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.domain.model.UserField;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * A user reduced to the fields selected with {@code fields=}. It wraps the
+ * (usually partially loaded) {@link User} instead of copying it, and
+ * serializes exactly the selected fields, in {@link UserField} order,
+ * without reflection.
+ */
+@JsonSerialize(using = UserProjection.Serializer.class)
+public final class UserProjection {
+
+    private final User user;
+    private final Set<UserField> fields;
+
+    public UserProjection(User user, Set<UserField> fields) {
+        this.user = user;
+        this.fields = fields;
+    }
+
+    public Set<UserField> getFields() {
+        return fields;
+    }
+
+    public Object get(UserField field) {
+        return field.get(user);
+    }
+
+    public static final class Serializer extends StdSerializer<UserProjection> {
+
+        private static final SerializedString[] NAMES = Arrays.stream(UserField.values()).map(field -> new SerializedString(field.property()))
+                .toArray(SerializedString[]::new);
+
+        public Serializer() {
+            super(UserProjection.class);
+        }
+
+        @Override
+        public void serialize(UserProjection projection, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(projection);
+            for (UserField field : projection.fields) {
+                generator.writeFieldName(NAMES[field.ordinal()]);
+                Object value = field.get(projection.user);
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    provider.defaultSerializeValue(value, generator);
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+}
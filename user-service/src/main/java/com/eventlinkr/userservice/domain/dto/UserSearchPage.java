@@ -0,0 +1,21 @@
+package com.eventlinkr.userservice.domain.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+/**
+ * One page of a keyset-paginated user search, holding full users or
+ * {@link UserProjection}s. {@code nextPageToken} is absent on the last page
+ * and {@code totalElements} is only present when the caller asked for it.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserSearchPage<T> {
+    private final List<T> content;
+    private final int size;
+    private final String nextPageToken;
+    private final Long totalElements;
+}
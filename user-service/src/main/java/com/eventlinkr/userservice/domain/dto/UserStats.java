@@ -0,0 +1,24 @@
+package com.eventlinkr.userservice.domain.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+/**
+ * Rolling user statistics: users created per hour over the last 24 hours and,
+ * per UTC day of the last 7, users by status whose last change fell on that
+ * day. Buckets are oldest first. {@code reconciledAt} is when the counts were
+ * last rebuilt from the database, absent before the first rebuild.
+ */
+public record UserStats(Instant generatedAt, Instant reconciledAt, long createdLast24Hours, List<HourCount> createdPerHour,
+        Map<User.UserStatus, Long> statusLast7Days, List<DayCounts> statusPerDay) {
+
+    public record HourCount(Instant hour, long created) {
+    }
+
+    public record DayCounts(LocalDate day, Map<User.UserStatus, Long> statuses) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.eventlinkr.userservice.domain.dto;
+
+import java.util.UUID;
+
+/**
+ * Slim typeahead match returned by {@code /api/user/suggest}.
+ */
+public record UserSuggestion(UUID id, String username, String fullName, String avatarUrl) {
+}
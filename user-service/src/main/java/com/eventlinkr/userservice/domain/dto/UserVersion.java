@@ -0,0 +1,68 @@
+package com.eventlinkr.userservice.domain.dto;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.http.ETag;
+import org.springframework.http.MediaType;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+/**
+ * What a user's entity tag is made of: the version, bumped by profile
+ * updates, and {@code updatedAt}, which every other write touches. The tag is
+ * strong because any change to the stored user changes one of the two, and
+ * because strong tags must differ between representations, a binary format
+ * adds its media subtype ({@code "3-1714558530123456+cbor"}); JSON, the
+ * default, carries the bare tag.
+ */
+public record UserVersion(long version, Instant updatedAt) {
+
+    public static UserVersion of(User user) {
+        return new UserVersion(user.getVersion() == null ? 0 : user.getVersion(), user.getUpdatedAt());
+    }
+
+    public ETag eTag() {
+        return new ETag(versionTag(), false);
+    }
+
+    /**
+     * The tag of this version served as {@code representation}.
+     */
+    public ETag eTag(MediaType representation) {
+        if (representation == null || MediaType.APPLICATION_JSON.isCompatibleWith(representation)) {
+            return eTag();
+        }
+        return new ETag(versionTag() + "+" + representation.getSubtype(), false);
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header names this version served as
+     * {@code representation}, by weak comparison or through a wildcard.
+     */
+    public boolean matches(String header, MediaType representation) {
+        ETag current = eTag(representation);
+        return ETag.parse(header).stream().anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+
+    /**
+     * Whether an {@code If-Match} header names this version, by strong
+     * comparison or through a wildcard. A write replaces the user whatever
+     * format its tag was read in, so the tag of any representation matches.
+     */
+    public boolean matchesAnyRepresentation(String header) {
+        String current = versionTag();
+        return ETag.parse(header).stream().anyMatch(tag -> tag.isWildcard() || !tag.weak() && current.equals(withoutRepresentation(tag.tag())));
+    }
+
+    private String versionTag() {
+        // Microseconds are the finest precision both H2 and Postgres store
+        long updatedMicros = updatedAt == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+        return version + "-" + updatedMicros;
+    }
+
+    private static String withoutRepresentation(String tag) {
+        int suffix = tag.indexOf('+');
+        return suffix < 0 ? tag : tag.substring(0, suffix);
+    }
+}
@@ -0,0 +1,8 @@
+package com.eventlinkr.userservice.domain.model;
+
+/**
+ * Identifies a user by their authentication provider and the id issued by
+ * that provider.
+ */
+public record ProviderKey(String provider, String providerId) {
+}
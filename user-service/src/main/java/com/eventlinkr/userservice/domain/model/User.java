@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -89,6 +90,9 @@ public class User {
     @Column("last_failed_login")
     private Instant lastFailedLogin;
 
+    @Version
+    private Long version;
+
     public enum UserStatus {
         ACTIVE, INACTIVE, SUSPENDED, DELETED, PENDING_VERIFICATION
     }
@@ -0,0 +1,92 @@
+package com.eventlinkr.userservice.domain.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.eventlinkr.userservice.exception.ValidationException;
+
+/**
+ * User fields a client can select with {@code fields=}, with the column each
+ * one is read from. Credentials and login-attempt bookkeeping
+ * ({@code passwordHash}, {@code loginAttempts}, {@code lastFailedLogin}) are
+ * deliberately not selectable.
+ */
+public enum UserField {
+    ID("id", "id", User::getId),
+    USERNAME("username", "username", User::getUsername),
+    EMAIL("email", "email", User::getEmail),
+    FULL_NAME("fullName", "full_name", User::getFullName),
+    HEADLINE("headline", "headline", User::getHeadline),
+    PROFILE_LINK("profileLink", "profile_link", User::getProfileLink),
+    AVATAR_URL("avatarUrl", "avatar_url", User::getAvatarUrl),
+    HEADSHOT("headshot", "headshot", User::getHeadshot),
+    BIO("bio", "bio", User::getBio),
+    STATUS("status", "status", User::getStatus),
+    PROVIDER("provider", "provider", User::getProvider),
+    PROVIDER_ID("providerId", "provider_id", User::getProviderId),
+    CREATED_AT("createdAt", "created_at", User::getCreatedAt),
+    UPDATED_AT("updatedAt", "updated_at", User::getUpdatedAt),
+    GUEST_EXPIRATION("guestExpiration", "guest_expiration", User::getGuestExpiration),
+    LAST_LOGIN_AT("lastLoginAt", "last_login_at", User::getLastLoginAt),
+    EMAIL_VERIFIED("emailVerified", "email_verified", User::getEmailVerified),
+    VERSION("version", "version", User::getVersion);
+
+    private static final Map<String, UserField> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(UserField::property, Function.identity()));
+
+    private final String property;
+    private final String column;
+    private final Function<User, Object> accessor;
+
+    UserField(String property, String column, Function<User, Object> accessor) {
+        this.property = property;
+        this.column = column;
+        this.accessor = accessor;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    public Object get(User user) {
+        return accessor.apply(user);
+    }
+
+    /**
+     * Parses a comma-separated list of property names, such as
+     * {@code id,username,avatarUrl}. Unknown names and an empty list are
+     * rejected.
+     */
+    public static Set<UserField> parse(String fields) {
+        Set<UserField> selected = EnumSet.noneOf(UserField.class);
+        List<String> unknown = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                UserField field = BY_PROPERTY.get(trimmed);
+                if (field == null) {
+                    unknown.add(trimmed);
+                } else {
+                    selected.add(field);
+                }
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new ValidationException("Unknown fields: " + String.join(", ", unknown));
+        }
+        if (selected.isEmpty()) {
+            throw new ValidationException("At least one field must be selected");
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,16 @@
+package com.eventlinkr.userservice.exception;
+
+/**
+ * Base class for exceptions that report an expected outcome of a request —
+ * a missing resource, invalid input, missing or insufficient credentials —
+ * rather than a fault. They are created on hot paths (scanners and stale
+ * links alone produce plenty of 404s) and their message says all there is to
+ * say, so they skip filling in a stack trace and recording suppressed
+ * exceptions.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,107 @@
+package com.eventlinkr.userservice.exception;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import com.eventlinkr.userservice.domain.dto.ApiError;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Pre-serialized {@link ApiError} body for one status and message. The
+ * constant part of the JSON is encoded once; rendering only escapes the
+ * per-error values and copies byte arrays, without going through the
+ * reflective {@code ObjectMapper}. The output has the same fields, in the
+ * same order, as {@code ApiError} serialized by Jackson.
+ */
+final class ErrorResponseTemplate {
+
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+    private static final byte[] DETAIL = ascii(",\"detail\":\"");
+    private static final byte[] ERROR_ID = ascii(",\"errorId\":\"");
+    private static final byte[] TIMESTAMP = ascii(",\"timestamp\":\"");
+    private static final byte[] ERRORS = ascii(",\"errors\":[");
+    private static final byte[] PATH = ascii(",\"path\":\"");
+    private static final byte[] QUOTE = ascii("\"");
+    private static final byte[] COMMA_QUOTE = ascii(",\"");
+    private static final byte[] END_ERRORS = ascii("]");
+    private static final byte[] END = ascii("}");
+
+    private final int status;
+    private final String message;
+    // {"status":404,"message":"Resource not found"
+    private final byte[] statusAndMessage;
+
+    ErrorResponseTemplate(int status, String message) {
+        this.status = status;
+        this.message = message;
+        this.statusAndMessage = concat(ascii("{\"status\":" + status + ",\"message\":\""), ENCODER.quoteAsUTF8(message), QUOTE);
+    }
+
+    int status() {
+        return status;
+    }
+
+    String message() {
+        return message;
+    }
+
+    /**
+     * Renders the body; {@code detail}, {@code errors} and {@code path} are
+     * left out when {@code null}, as Jackson does for {@code ApiError}.
+     */
+    byte[] render(String errorId, String detail, Instant timestamp, List<String> errors, String path) {
+        byte[][] parts = new byte[16 + (errors == null ? 0 : 3 * errors.size())][];
+        int count = 0;
+        parts[count++] = statusAndMessage;
+        if (detail != null) {
+            parts[count++] = DETAIL;
+            parts[count++] = ENCODER.quoteAsUTF8(detail);
+            parts[count++] = QUOTE;
+        }
+        parts[count++] = ERROR_ID;
+        parts[count++] = ascii(errorId);
+        parts[count++] = QUOTE;
+        parts[count++] = TIMESTAMP;
+        parts[count++] = ascii(timestamp.toString());
+        parts[count++] = QUOTE;
+        if (errors != null) {
+            parts[count++] = ERRORS;
+            for (int i = 0; i < errors.size(); i++) {
+                parts[count++] = i == 0 ? QUOTE : COMMA_QUOTE;
+                parts[count++] = ENCODER.quoteAsUTF8(errors.get(i));
+                parts[count++] = QUOTE;
+            }
+            parts[count++] = END_ERRORS;
+        }
+        if (path != null) {
+            parts[count++] = PATH;
+            parts[count++] = ENCODER.quoteAsUTF8(path);
+            parts[count++] = QUOTE;
+        }
+        parts[count++] = END;
+        return concat(parts, count);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        return concat(parts, parts.length);
+    }
+
+    private static byte[] concat(byte[][] parts, int count) {
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            length += parts[i].length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(parts[i], 0, result, offset, parts[i].length);
+            offset += parts[i].length;
+        }
+        return result;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
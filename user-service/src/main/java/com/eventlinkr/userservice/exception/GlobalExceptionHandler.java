@@ -1,91 +1,146 @@
 package com.eventlinkr.userservice.exception;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
-import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.ServerWebInputException;
 
-import com.eventlinkr.userservice.domain.dto.ApiError;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.eventlinkr.userservice.utils.ErrorIds;
+import com.eventlinkr.userservice.utils.LogRateLimiter;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.R2dbcTimeoutException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.logstash.logback.argument.StructuredArguments;
 import reactor.core.publisher.Mono;
 
+/**
+ * Turns exceptions into {@code ApiError} responses, rendered from
+ * pre-serialized {@link ErrorResponseTemplate}s.
+ * <p>
+ * Expected outcomes (4xx) are logged at DEBUG without a stack trace. An
+ * exhausted connection pool is logged at WARN and other 5xx errors at ERROR
+ * with their stack trace, both rate-limited so that a failing dependency
+ * cannot flood the log; each line carries the error id returned to the
+ * client and the number of lines suppressed before it.
+ */
 @Slf4j
 @Order(-2)
 @Configuration
 @RequiredArgsConstructor
 public class GlobalExceptionHandler implements ErrorWebExceptionHandler {
 
-    private final ObjectMapper objectMapper;
+    // Counts handled exceptions by type and resulting status
+    static final String ERRORS_METRIC = "eventlinkr.http.errors";
+
+    private static final ErrorResponseTemplate NOT_FOUND = new ErrorResponseTemplate(HttpStatus.NOT_FOUND.value(), "Resource not found");
+    private static final ErrorResponseTemplate INVALID_REQUEST = new ErrorResponseTemplate(HttpStatus.BAD_REQUEST.value(), "Invalid request");
+    private static final ErrorResponseTemplate UNAUTHORIZED = new ErrorResponseTemplate(HttpStatus.UNAUTHORIZED.value(), "Authentication required");
+    private static final ErrorResponseTemplate FORBIDDEN = new ErrorResponseTemplate(HttpStatus.FORBIDDEN.value(), "Access denied");
+    private static final ErrorResponseTemplate VALIDATION = new ErrorResponseTemplate(HttpStatus.BAD_REQUEST.value(), "Validation error");
+    private static final ErrorResponseTemplate CONFLICT = new ErrorResponseTemplate(HttpStatus.CONFLICT.value(), "Conflict");
+    private static final ErrorResponseTemplate PRECONDITION_FAILED = new ErrorResponseTemplate(HttpStatus.PRECONDITION_FAILED.value(),
+            "Precondition failed");
+    private static final ErrorResponseTemplate UNAVAILABLE = new ErrorResponseTemplate(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service unavailable");
+    private static final ErrorResponseTemplate INVALID_INPUT = new ErrorResponseTemplate(HttpStatus.BAD_REQUEST.value(), "Invalid input");
+    private static final ErrorResponseTemplate INTERNAL_ERROR = new ErrorResponseTemplate(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+            "Internal server error");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, ErrorResponseTemplate> requestErrors = new ConcurrentHashMap<>();
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final LogRateLimiter errorLogLimiter = new LogRateLimiter(10, Duration.ofSeconds(1));
+    private final LogRateLimiter overloadLogLimiter = new LogRateLimiter(1, Duration.ofSeconds(1));
 
     @Override
     public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
-        log.error("Global exception handler caught: {}", ex.getMessage(), ex);
-
-        ApiError apiError;
-        HttpStatus status;
+        ErrorResponseTemplate template;
+        String detail = ex.getMessage();
+        List<String> errors = null;
 
         if (ex instanceof ResourceNotFoundException) {
-            status = HttpStatus.NOT_FOUND;
-            apiError = new ApiError(status.value(), "Resource not found", ex.getMessage());
+            template = NOT_FOUND;
         } else if (ex instanceof IllegalArgumentException) {
-            status = HttpStatus.BAD_REQUEST;
-            apiError = new ApiError(status.value(), "Invalid request", ex.getMessage());
+            template = INVALID_REQUEST;
         } else if (ex instanceof UnauthorizedException) {
-            status = HttpStatus.UNAUTHORIZED;
-            apiError = new ApiError(status.value(), "Authentication required", ex.getMessage());
+            template = UNAUTHORIZED;
         } else if (ex instanceof ForbiddenException) {
-            status = HttpStatus.FORBIDDEN;
-            apiError = new ApiError(status.value(), "Access denied", ex.getMessage());
-        } else if (ex instanceof ValidationException) {
-            status = HttpStatus.BAD_REQUEST;
-            apiError = new ApiError(status.value(), "Validation error", ex.getMessage());
-
-            if (ex instanceof ValidationException validationEx && validationEx.getErrors() != null) {
-                validationEx.getErrors().forEach(apiError::addError);
-            }
+            template = FORBIDDEN;
+        } else if (ex instanceof ValidationException validationEx) {
+            template = VALIDATION;
+            errors = validationEx.getErrors();
+        } else if (ex instanceof OptimisticLockingFailureException) {
+            template = CONFLICT;
+        } else if (ex instanceof PreconditionFailedException) {
+            template = PRECONDITION_FAILED;
+        } else if (ex instanceof DataAccessResourceFailureException && ex.getCause() instanceof R2dbcTimeoutException) {
+            // No pooled connection became available within the max acquire time
+            template = UNAVAILABLE;
+            detail = "The service is overloaded, please retry later";
         } else if (ex instanceof WebExchangeBindException bindException) {
-            status = HttpStatus.BAD_REQUEST;
-            apiError = new ApiError(status.value(), "Validation error", "Request validation failed");
-
-            bindException.getBindingResult().getFieldErrors().forEach(
-                    fieldError -> apiError.addError(fieldError.getField() + ": " + fieldError.getDefaultMessage()));
+            template = VALIDATION;
+            detail = "Request validation failed";
+            errors = bindException.getBindingResult().getFieldErrors().stream()
+                    .map(fieldError -> fieldError.getField() + ": " + fieldError.getDefaultMessage()).toList();
         } else if (ex instanceof ServerWebInputException) {
-            status = HttpStatus.BAD_REQUEST;
-            apiError = new ApiError(status.value(), "Invalid input", ex.getMessage());
+            template = INVALID_INPUT;
         } else if (ex instanceof ResponseStatusException responseStatusException) {
-            status = HttpStatus.valueOf(responseStatusException.getStatusCode().value());
-            apiError = new ApiError(status.value(), "Request error", responseStatusException.getReason());
+            template = requestErrors.computeIfAbsent(responseStatusException.getStatusCode().value(),
+                    status -> new ErrorResponseTemplate(status, "Request error"));
+            detail = responseStatusException.getReason();
         } else {
-            status = HttpStatus.INTERNAL_SERVER_ERROR;
-            apiError = new ApiError(status.value(), "Internal server error", "An unexpected error occurred");
+            template = INTERNAL_ERROR;
+            detail = "An unexpected error occurred";
         }
 
-        // Add request path to the error response
-        apiError.setPath(exchange.getRequest().getPath().value());
+        String errorId = ErrorIds.next();
+        String path = exchange.getRequest().getPath().value();
+        logError(template, errorId, path, ex);
+        counters.computeIfAbsent(new CounterKey(ex.getClass(), template.status()), key -> meterRegistry.counter(ERRORS_METRIC, "exception",
+                key.exception().getSimpleName(), "status", String.valueOf(key.status()))).increment();
+
+        byte[] body = template.render(errorId, detail, Instant.now(), errors == null || errors.isEmpty() ? null : errors, path);
 
-        exchange.getResponse().setStatusCode(status);
-        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(template.status()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
 
-        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
-        DataBuffer dataBuffer;
-        try {
-            dataBuffer = bufferFactory.wrap(objectMapper.writeValueAsBytes(apiError));
-        } catch (JsonProcessingException e) {
-            log.error("Error writing response", e);
-            dataBuffer = bufferFactory.wrap("".getBytes());
+    private void logError(ErrorResponseTemplate template, String errorId, String path, Throwable ex) {
+        if (template == UNAVAILABLE) {
+            long suppressed = overloadLogLimiter.tryAcquire();
+            if (suppressed >= 0) {
+                log.warn("Rejected {} on {}: {} ({})", errorId, path, ex.getMessage(), StructuredArguments.kv("suppressed", suppressed));
+            }
+        } else if (template.status() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            long suppressed = errorLogLimiter.tryAcquire();
+            if (suppressed >= 0) {
+                log.error("Error {} on {}: {} ({})", errorId, path, ex.getMessage(), StructuredArguments.kv("suppressed", suppressed), ex);
+            }
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {} on {}: {}", template.status(), errorId, path, ex.getMessage());
         }
+    }
 
-        return exchange.getResponse().writeWith(Mono.just(dataBuffer));
+    private record CounterKey(Class<?> exception, int status) {
     }
 }
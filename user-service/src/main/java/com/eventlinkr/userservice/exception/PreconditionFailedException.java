@@ -0,0 +1,8 @@
+package com.eventlinkr.userservice.exception;
+
+public class PreconditionFailedException extends DomainException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,12 @@
 package com.eventlinkr.userservice.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends DomainException {
 
     public ResourceNotFoundException(String message) {
         super(message);
     }
 
     public ResourceNotFoundException(String resourceType, String identifier) {
-        super(String.format("%s with identifier %s not found", resourceType, identifier));
+        super(resourceType + " with identifier " + identifier + " not found");
     }
 }
@@ -6,7 +6,7 @@ import java.util.List;
 import lombok.Getter;
 
 @Getter
-public class ValidationException extends RuntimeException {
+public class ValidationException extends DomainException {
 
     private final List<String> errors;
 
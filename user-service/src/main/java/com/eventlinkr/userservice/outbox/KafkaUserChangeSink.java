@@ -0,0 +1,66 @@
+package com.eventlinkr.userservice.outbox;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+import com.eventlinkr.userservice.domain.dto.UserChange;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes each change as JSON to a Kafka topic, keyed by user id so that
+ * the changes of one user stay in order on one partition. A batch completes
+ * once the broker has acknowledged every record. Tests and local runs can
+ * stand in a {@code MockProducer} for the broker.
+ */
+class KafkaUserChangeSink implements UserChangeSink, AutoCloseable {
+
+    private final Producer<String, byte[]> producer;
+    private final String topic;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    KafkaUserChangeSink(Producer<String, byte[]> producer, String topic, ObjectMapper objectMapper, Duration timeout) {
+        this.producer = producer;
+        this.topic = topic;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Mono<Void> publish(List<UserChange> changes) {
+        return Mono.<Void> create(sink -> {
+            AtomicInteger pending = new AtomicInteger(changes.size());
+            for (UserChange change : changes) {
+                byte[] value;
+                try {
+                    value = objectMapper.writeValueAsBytes(change);
+                } catch (JsonProcessingException e) {
+                    sink.error(e);
+                    return;
+                }
+                producer.send(new ProducerRecord<>(topic, change.userId().toString(), value), (metadata, error) -> {
+                    if (error != null) {
+                        sink.error(error);
+                    } else if (pending.decrementAndGet() == 0) {
+                        sink.success();
+                    }
+                });
+            }
+            if (changes.isEmpty()) {
+                sink.success();
+            }
+        }).timeout(timeout);
+    }
+
+    @Override
+    public void close() {
+        producer.close(timeout);
+    }
+}
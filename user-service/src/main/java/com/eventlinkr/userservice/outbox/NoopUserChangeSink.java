@@ -0,0 +1,20 @@
+package com.eventlinkr.userservice.outbox;
+
+import java.util.List;
+
+import com.eventlinkr.userservice.domain.dto.UserChange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes nothing. Without an external sink the relay only gives changes
+ * their offsets and marks them relayed; consumers then read them through
+ * {@code GET /api/user/changes}, which pages the outbox itself.
+ */
+class NoopUserChangeSink implements UserChangeSink {
+
+    @Override
+    public Mono<Void> publish(List<UserChange> changes) {
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,37 @@
+package com.eventlinkr.userservice.outbox;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Selects where {@link UserChangeRelay} publishes: nowhere ({@code none}, the
+ * default, leaving {@code GET /api/user/changes} as the only way to consume
+ * changes) or to a Kafka topic ({@code kafka}).
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public UserChangeSink userChangeSink(ObjectMapper objectMapper, @Value("${eventlinkr.outbox.sink:none}") String sink,
+            @Value("${eventlinkr.outbox.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+            @Value("${eventlinkr.outbox.kafka.topic:eventlinkr.user-changes}") String topic,
+            @Value("${eventlinkr.outbox.kafka.send-timeout:PT10S}") Duration sendTimeout) {
+        return switch (sink) {
+        case "none" -> new NoopUserChangeSink();
+        case "kafka" -> new KafkaUserChangeSink(new KafkaProducer<>(Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.ACKS_CONFIG, "all", ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true), new StringSerializer(), new ByteArraySerializer()), topic,
+                objectMapper, sendTimeout);
+        default -> throw new IllegalArgumentException("Unknown outbox sink " + sink + ", expected none or kafka");
+        };
+    }
+}
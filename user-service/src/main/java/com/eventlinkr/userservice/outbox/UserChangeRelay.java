@@ -0,0 +1,178 @@
+package com.eventlinkr.userservice.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.eventlinkr.userservice.domain.dto.UserChange;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.service.UserChangeListener;
+import com.eventlinkr.userservice.utils.LoggingFormat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Drains the {@code user_changes} outbox to the configured
+ * {@link UserChangeSink} in batches of {@code batch-size}, oldest first. Each
+ * batch is read, given its stream offsets, published and marked relayed in
+ * one transaction that holds the relay lock, so relays on several nodes take
+ * turns and offsets become visible in the order they were assigned: a
+ * consumer paging on offsets never passes a change that is still to come.
+ * Delivery is at least once: a batch whose commit fails after publishing is
+ * published again, with new offsets.
+ * <p>
+ * Writes on this node wake the relay as soon as they commit; every
+ * {@code poll-interval} it also picks up what other nodes left behind.
+ * Relayed changes are kept for {@code retention} so consumers can replay
+ * them, then deleted in batches every {@code cleanup-interval}. Relayed
+ * changes are counted as {@code eventlinkr.outbox.relayed}, batches timed as
+ * {@code eventlinkr.outbox.batch} and deleted changes counted as
+ * {@code eventlinkr.outbox.purged}.
+ */
+@Slf4j
+@Component
+public class UserChangeRelay implements UserChangeListener {
+
+    private final UserRepository userRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final UserChangeSink sink;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter relayedChanges;
+    private final Counter purgedChanges;
+    private final Timer batchLatency;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean requested = new AtomicBoolean();
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private final Sinks.Many<Long> relayedOffsets = Sinks.many().multicast().directBestEffort();
+
+    public UserChangeRelay(UserRepository userRepository, TransactionalOperator transactionalOperator, UserChangeSink sink, MeterRegistry meterRegistry,
+            @Value("${eventlinkr.outbox.relay.enabled:true}") boolean enabled, @Value("${eventlinkr.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${eventlinkr.outbox.retention:P7D}") Duration retention) {
+        this.userRepository = userRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.sink = sink;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.relayedChanges = Counter.builder("eventlinkr.outbox.relayed").description("User changes published to the change sink").register(meterRegistry);
+        this.purgedChanges = Counter.builder("eventlinkr.outbox.purged").description("Relayed user changes deleted after the retention period")
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("eventlinkr.outbox.batch").description("Time taken to read, publish and mark one batch of user changes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${eventlinkr.outbox.relay.poll-interval:PT1S}", fixedDelayString = "${eventlinkr.outbox.relay.poll-interval:PT1S}")
+    public void scheduledRelay() {
+        requestRelay();
+    }
+
+    @Scheduled(initialDelayString = "${eventlinkr.outbox.cleanup-interval:PT1H}", fixedDelayString = "${eventlinkr.outbox.cleanup-interval:PT1H}")
+    public void scheduledCleanup() {
+        if (!purging.compareAndSet(false, true)) {
+            return;
+        }
+        purge().doFinally(signal -> purging.set(false)).subscribe(purged -> {
+            if (purged > 0) {
+                log.info("Outbox cleanup removed {} relayed changes", purged);
+            }
+        }, error -> log.error(LoggingFormat.ERROR_OPERATION, "cleaning up user changes", error.getMessage()));
+    }
+
+    /**
+     * Relays until the outbox is empty and emits how many changes were
+     * published.
+     */
+    public Mono<Long> relay() {
+        Mono<Integer> batch = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return userRepository.lockRelay().flatMap(lastOffset -> userRepository.findUnrelayedChanges(batchSize).collectList().flatMap(pending -> {
+                List<UserChange> changes = new ArrayList<>(pending.size());
+                for (int i = 0; i < pending.size(); i++) {
+                    changes.add(pending.get(i).withOffset(lastOffset + 1 + i));
+                }
+                return changes.isEmpty() ? Mono.just(changes)
+                        : sink.publish(changes).then(userRepository.markRelayed(pending, lastOffset + 1, Instant.now())).thenReturn(changes);
+            })).as(transactionalOperator::transactional).map(changes -> {
+                if (!changes.isEmpty()) {
+                    relayedChanges.increment(changes.size());
+                    batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    relayedOffsets.tryEmitNext(changes.get(changes.size() - 1).offset());
+                }
+                return changes.size();
+            });
+        });
+        // A short batch means the outbox is drained
+        return batch.expand(relayed -> relayed < batchSize ? Mono.empty() : batch).reduce(0L, Long::sum);
+    }
+
+    /**
+     * Deletes changes relayed longer than the retention ago and emits how many
+     * were deleted.
+     */
+    public Mono<Long> purge() {
+        return Mono.defer(() -> {
+            Instant cutoff = Instant.now().minus(retention);
+            Mono<Long> batch = userRepository.deleteRelayedBefore(cutoff, batchSize).doOnNext(purgedChanges::increment);
+            return batch.expand(purged -> purged < batchSize ? Mono.empty() : batch).reduce(0L, Long::sum);
+        });
+    }
+
+    /**
+     * Completes once this node relays its next batch, or after
+     * {@code maxWait}, whichever comes first.
+     */
+    public Mono<Void> awaitRelayed(Duration maxWait) {
+        return relayedOffsets.asFlux().next().then().timeout(maxWait, Mono.empty());
+    }
+
+    @Override
+    public void onUserCreated(User user) {
+        requestRelay();
+    }
+
+    @Override
+    public void onUserUpdated(User user) {
+        requestRelay();
+    }
+
+    @Override
+    public void onUserDeleted(User user) {
+        requestRelay();
+    }
+
+    /**
+     * Starts a relay unless one is running, in which case that one runs again
+     * when it finishes, so a burst of writes costs one relay pass rather than
+     * one per write.
+     */
+    private void requestRelay() {
+        requested.set(true);
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        requested.set(false);
+        relay().doFinally(signal -> {
+            running.set(false);
+            if (signal == SignalType.ON_COMPLETE && requested.get()) {
+                requestRelay();
+            }
+        }).subscribe(null, error -> log.error(LoggingFormat.ERROR_OPERATION, "relaying user changes", error.getMessage()));
+    }
+}
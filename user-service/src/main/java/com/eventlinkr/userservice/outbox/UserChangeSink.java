@@ -0,0 +1,18 @@
+package com.eventlinkr.userservice.outbox;
+
+import java.util.List;
+
+import com.eventlinkr.userservice.domain.dto.UserChange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Destination of relayed changes. Called by the {@link UserChangeRelay} of
+ * this node one batch at a time, in offset order; the batch is marked
+ * relayed only once the returned Mono completes, so a failed or interrupted
+ * batch is published again and consumers must tolerate duplicates.
+ */
+public interface UserChangeSink {
+
+    Mono<Void> publish(List<UserChange> changes);
+}
@@ -0,0 +1,49 @@
+package com.eventlinkr.userservice.outbox;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.eventlinkr.userservice.domain.dto.UserChange;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.repository.UserRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs a user write and records what it changed in {@code user_changes} in
+ * one transaction, so a change is recorded if and only if the write commits.
+ * Results are emitted only after the commit, so change listeners downstream
+ * never see a write that was rolled back.
+ */
+@Component
+public class UserOutbox {
+
+    private final UserRepository userRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    public UserOutbox(UserRepository userRepository, TransactionalOperator transactionalOperator) {
+        this.userRepository = userRepository;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    /**
+     * Records a change of {@code type} for the user {@code write} emits; an
+     * empty write records nothing.
+     */
+    public Mono<User> write(UserChange.Type type, Mono<User> write) {
+        return write.flatMap(user -> userRepository.recordChanges(type, List.of(user)).thenReturn(user)).as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Records a change of {@code type} for every user {@code write} emits,
+     * with one INSERT for all of them.
+     */
+    public Flux<User> writeAll(UserChange.Type type, Flux<User> write) {
+        return write.collectList().flatMap(users -> userRepository.recordChanges(type, users).thenReturn(users)).as(transactionalOperator::transactional)
+                .flatMapIterable(Function.identity());
+    }
+}
@@ -0,0 +1,142 @@
+package com.eventlinkr.userservice.reaper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.eventlinkr.userservice.domain.dto.UserChange;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.outbox.UserOutbox;
+import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.service.UserChangeListener;
+import com.eventlinkr.userservice.utils.LoggingFormat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hard-deletes users that can no longer be used: guests whose access expired
+ * and soft-deleted users older than {@code deleted-retention}. Every
+ * {@code interval} it removes at most {@code batch-size} rows per statement
+ * and {@code max-batches} batches per kind, so a run's locks and I/O stay
+ * bounded however large the backlog; what is left waits for the next run.
+ * Between batches it pauses for {@code pause}, or for as long as the last
+ * batch took if that was longer, so a slow database gets the reaper's
+ * connection back at least half the time.
+ * <p>
+ * Each batch records its deletions in the {@link UserOutbox} in the same
+ * transaction, and once committed the deleted users are passed to every
+ * {@link UserChangeListener}, so caches and indexes drop them too. Rows removed are counted as
+ * {@code eventlinkr.reaper.removed} and batches timed as
+ * {@code eventlinkr.reaper.batch}, both tagged {@code target=expired-guests}
+ * or {@code soft-deleted}.
+ */
+@Slf4j
+@Component
+public class UserReaper {
+
+    private final UserOutbox userOutbox;
+    private final List<UserChangeListener> changeListeners;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long pauseNanos;
+    private final Duration deletedRetention;
+    private final Target expiredGuests;
+    private final Target softDeleted;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public UserReaper(UserRepository userRepository, UserOutbox userOutbox, List<UserChangeListener> changeListeners, MeterRegistry meterRegistry,
+            @Value("${eventlinkr.reaper.enabled:true}") boolean enabled, @Value("${eventlinkr.reaper.batch-size:500}") int batchSize,
+            @Value("${eventlinkr.reaper.max-batches:200}") int maxBatches, @Value("${eventlinkr.reaper.pause:PT0.1S}") Duration pause,
+            @Value("${eventlinkr.reaper.deleted-retention:P30D}") Duration deletedRetention) {
+        this.userOutbox = userOutbox;
+        this.changeListeners = changeListeners;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pauseNanos = pause.toNanos();
+        this.deletedRetention = deletedRetention;
+        this.expiredGuests = new Target("expired-guests", userRepository::deleteExpiredGuests, meterRegistry);
+        this.softDeleted = new Target("soft-deleted", userRepository::deleteSoftDeleted, meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${eventlinkr.reaper.interval:PT10M}", fixedDelayString = "${eventlinkr.reaper.interval:PT10M}")
+    public void scheduledRun() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        reap().doFinally(signal -> running.set(false)).subscribe(removed -> {
+            if (removed > 0) {
+                log.info("Reaper removed {} users", removed);
+            }
+        }, error -> log.error(LoggingFormat.ERROR_OPERATION, "reaping users", error.getMessage()));
+    }
+
+    /**
+     * Runs one pass over expired guests, then soft-deleted users, and emits
+     * how many users were removed.
+     */
+    public Mono<Long> reap() {
+        return Mono.defer(() -> {
+            Instant now = Instant.now();
+            return drain(expiredGuests, now).flatMap(guests -> drain(softDeleted, now.minus(deletedRetention)).map(deleted -> guests + deleted));
+        });
+    }
+
+    private Mono<Long> drain(Target target, Instant cutoff) {
+        Mono<Batch> batch = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return userOutbox.writeAll(UserChange.Type.DELETED, target.delete.apply(cutoff, batchSize)).doOnNext(this::notifyDeleted).count().map(removed -> {
+                long elapsed = System.nanoTime() - start;
+                target.removed.increment(removed);
+                target.latency.record(elapsed, TimeUnit.NANOSECONDS);
+                return new Batch(removed, elapsed);
+            });
+        });
+        AtomicInteger batches = new AtomicInteger(1);
+        // A short batch means the backlog is gone
+        return batch.expand(previous -> previous.removed() < batchSize || batches.getAndIncrement() >= maxBatches ? Mono.empty()
+                : batch.delaySubscription(Duration.ofNanos(Math.max(pauseNanos, previous.nanos())))).reduce(0L, (total, done) -> total + done.removed());
+    }
+
+    private void notifyDeleted(User user) {
+        for (UserChangeListener listener : changeListeners) {
+            try {
+                listener.onUserDeleted(user);
+            } catch (RuntimeException e) {
+                log.error(LoggingFormat.ERROR_WITH_ID, "notifying " + listener.getClass().getSimpleName(), user.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private record Batch(long removed, long nanos) {
+    }
+
+    private static final class Target {
+
+        final BiFunction<Instant, Integer, Flux<User>> delete;
+        final Counter removed;
+        final Timer latency;
+
+        Target(String name, BiFunction<Instant, Integer, Flux<User>> delete, MeterRegistry meterRegistry) {
+            this.delete = delete;
+            this.removed = Counter.builder("eventlinkr.reaper.removed").tag("target", name).description("Users hard-deleted by the reaper")
+                    .register(meterRegistry);
+            this.latency = Timer.builder("eventlinkr.reaper.batch").tag("target", name).description("Time taken by one reaper delete batch")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -8,8 +8,10 @@ import com.eventlinkr.userservice.domain.model.User;
 
 import reactor.core.publisher.Mono;
 
-public interface CustomUserRepository extends UserRepository {
-    // Add new statistics methods
+public interface CustomUserRepository extends UserRepository, UserSearchRepository, UserBulkRepository, UserWriteRepository,
+        UserProjectionRepository, UserLookupRepository, UserPurgeRepository, UserOutboxRepository {
+    // Statistics as full range scans in PostgreSQL-only syntax; UserStatistics keeps both counts in memory instead
+    @Deprecated
     @Query("""
                 SELECT COUNT(*)
                 FROM users
@@ -17,6 +19,7 @@ public interface CustomUserRepository extends UserRepository {
             """)
     Mono<Long> countUsersCreatedLast24Hours();
 
+    @Deprecated
     @Query("""
                 SELECT COUNT(*)
                 FROM users
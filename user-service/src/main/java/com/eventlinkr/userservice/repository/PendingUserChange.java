@@ -0,0 +1,17 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.eventlinkr.userservice.domain.dto.UserChange;
+
+/**
+ * An outbox row not yet relayed, identified by its row id until the relay
+ * gives it a stream offset.
+ */
+public record PendingUserChange(long id, UUID userId, UserChange.Type type, Long version, Instant occurredAt) {
+
+    public UserChange withOffset(long offset) {
+        return new UserChange(offset, userId, type, version, occurredAt);
+    }
+}
@@ -0,0 +1,10 @@
+package com.eventlinkr.userservice.repository;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+/**
+ * A search hit together with its relevance tier; lower ranks are better
+ * matches.
+ */
+public record RankedUser(User user, int rank) {
+}
@@ -0,0 +1,20 @@
+package com.eventlinkr.userservice.repository;
+
+import java.util.List;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Bulk writes that bypass per-entity saves.
+ */
+public interface UserBulkRepository {
+
+    /**
+     * Inserts all users, which must carry client-assigned ids, with a single
+     * multi-row INSERT. The statement is atomic: a constraint violation on any
+     * row inserts none of them.
+     */
+    Mono<Long> insertAll(List<User> users);
+}
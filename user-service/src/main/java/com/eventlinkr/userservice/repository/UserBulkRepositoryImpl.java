@@ -0,0 +1,64 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Parameters;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class UserBulkRepositoryImpl implements UserBulkRepository {
+
+    private static final String INSERT_PREFIX = """
+            INSERT INTO users (id, username, email, full_name, bio, avatar_url, status, provider, provider_id, created_at, updated_at) VALUES
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Long> insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return Mono.just(0L);
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + users.size() * 120).append(INSERT_PREFIX);
+        for (int i = 0; i < users.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id").append(i).append(", :username").append(i).append(", :email").append(i).append(", :fullName").append(i).append(", :bio")
+                    .append(i).append(", :avatarUrl").append(i).append(", :status").append(i).append(", :provider").append(i).append(", :providerId")
+                    .append(i).append(", :createdAt").append(i).append(", :updatedAt").append(i).append(')');
+        }
+
+        // Bound in one call: DatabaseClient copies its parameter map on every bind(), which is quadratic for wide statements
+        Map<String, Object> parameters = new HashMap<>(users.size() * 16);
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            parameters.put("id" + i, parameter(user.getId(), UUID.class));
+            parameters.put("username" + i, parameter(user.getUsername(), String.class));
+            parameters.put("email" + i, parameter(user.getEmail(), String.class));
+            parameters.put("fullName" + i, parameter(user.getFullName(), String.class));
+            parameters.put("bio" + i, parameter(user.getBio(), String.class));
+            parameters.put("avatarUrl" + i, parameter(user.getAvatarUrl(), String.class));
+            parameters.put("status" + i, parameter(user.getStatus() == null ? null : user.getStatus().name(), String.class));
+            parameters.put("provider" + i, parameter(user.getProvider(), String.class));
+            parameters.put("providerId" + i, parameter(user.getProviderId(), String.class));
+            parameters.put("createdAt" + i, parameter(user.getCreatedAt(), Instant.class));
+            parameters.put("updatedAt" + i, parameter(user.getUpdatedAt(), Instant.class));
+        }
+        return databaseClient.sql(sql.toString()).bindValues(parameters).fetch().rowsUpdated();
+    }
+
+    private static Parameter parameter(Object value, Class<?> type) {
+        return value == null ? Parameters.in(type) : Parameters.in(value);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventlinkr.userservice.repository;
+
+/**
+ * Unique identifying columns of a user, read without loading the full row.
+ */
+public record UserIdentity(String email, String username) {
+}
@@ -0,0 +1,24 @@
+package com.eventlinkr.userservice.repository;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+import com.eventlinkr.userservice.domain.model.ProviderKey;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.domain.model.UserField;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Multi-key reads, each a single query however many keys are given. Rows come
+ * back in no particular order and absent keys simply yield no row. A
+ * {@code null} field set reads whole users; otherwise only the columns of the
+ * given fields are read, plus those of the key.
+ */
+public interface UserLookupRepository {
+
+    Flux<User> findAllByIds(Collection<UUID> ids, Set<UserField> fields);
+
+    Flux<User> findAllByProviderKeys(Collection<ProviderKey> providerKeys, Set<UserField> fields);
+}
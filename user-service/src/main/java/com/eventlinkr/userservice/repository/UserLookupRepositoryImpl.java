@@ -0,0 +1,55 @@
+package com.eventlinkr.userservice.repository;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.model.ProviderKey;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.domain.model.UserField;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Keys are bound as arrays ({@code id = ANY(:ids)} and a two-array
+ * {@code UNNEST} for provider keys) rather than expanded into one bind marker
+ * each, so every lookup runs the same statement whatever the number of keys.
+ */
+@RequiredArgsConstructor
+public class UserLookupRepositoryImpl implements UserLookupRepository {
+
+    private static final String BY_IDS = " FROM users WHERE id = ANY(:ids)";
+
+    private static final String BY_PROVIDER_KEYS = " FROM users WHERE (provider, provider_id) IN (SELECT * FROM UNNEST(:providers, :providerIds))";
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+
+    @Override
+    public Flux<User> findAllByIds(Collection<UUID> ids, Set<UserField> fields) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(select(fields, UserField.ID) + BY_IDS).bind("ids", ids.toArray(UUID[]::new))
+                .map((row, metadata) -> converter.read(User.class, row, metadata)).all();
+    }
+
+    @Override
+    public Flux<User> findAllByProviderKeys(Collection<ProviderKey> providerKeys, Set<UserField> fields) {
+        if (providerKeys.isEmpty()) {
+            return Flux.empty();
+        }
+        String[] providers = providerKeys.stream().map(ProviderKey::provider).toArray(String[]::new);
+        String[] providerIds = providerKeys.stream().map(ProviderKey::providerId).toArray(String[]::new);
+        return databaseClient.sql(select(fields, UserField.PROVIDER, UserField.PROVIDER_ID) + BY_PROVIDER_KEYS).bind("providers", providers)
+                .bind("providerIds", providerIds).map((row, metadata) -> converter.read(User.class, row, metadata)).all();
+    }
+
+    private static String select(Set<UserField> fields, UserField... keys) {
+        return fields == null ? "SELECT *" : UserProjectionRepositoryImpl.select(fields, keys);
+    }
+}
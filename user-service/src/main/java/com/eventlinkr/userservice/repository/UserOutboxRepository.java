@@ -0,0 +1,55 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.eventlinkr.userservice.domain.dto.UserChange;
+import com.eventlinkr.userservice.domain.model.User;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code user_changes} outbox. Changes are recorded inside the
+ * transaction of the write they describe and get their stream offset when
+ * relayed: row ids follow insert order, not commit order, so a consumer
+ * paging on ids could pass a change that commits late. Relayed changes are
+ * deleted once relayed for longer than the retention.
+ */
+public interface UserOutboxRepository {
+
+    /**
+     * Records one change of {@code type} per user with one multi-row INSERT.
+     */
+    Mono<Void> recordChanges(UserChange.Type type, List<User> users);
+
+    /**
+     * Locks the relay row until the calling transaction ends and returns the
+     * last offset handed out. Relays on all nodes take turns on this lock, so
+     * offsets are committed in the order they are assigned.
+     */
+    Mono<Long> lockRelay();
+
+    /**
+     * Reads up to {@code limit} changes not yet relayed, oldest first.
+     */
+    Flux<PendingUserChange> findUnrelayedChanges(int limit);
+
+    /**
+     * Gives {@code changes} the offsets {@code firstOffset},
+     * {@code firstOffset + 1}, ... in order, marks them relayed and records
+     * the last offset on the relay row.
+     */
+    Mono<Void> markRelayed(List<PendingUserChange> changes, long firstOffset, Instant relayedAt);
+
+    /**
+     * Reads up to {@code limit} relayed changes after {@code afterOffset}, in
+     * offset order.
+     */
+    Flux<UserChange> findRelayedChanges(long afterOffset, int limit);
+
+    /**
+     * Deletes up to {@code limit} changes relayed before {@code cutoff}.
+     */
+    Mono<Long> deleteRelayedBefore(Instant cutoff, int limit);
+}
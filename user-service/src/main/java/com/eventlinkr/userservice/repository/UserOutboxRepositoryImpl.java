@@ -0,0 +1,126 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.dto.UserChange;
+import com.eventlinkr.userservice.domain.model.User;
+
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class UserOutboxRepositoryImpl implements UserOutboxRepository {
+
+    private static final String INSERT_PREFIX = "INSERT INTO user_changes (user_id, change_type, version, occurred_at) VALUES ";
+
+    private static final String UNRELAYED = """
+            SELECT id, user_id, change_type, version, occurred_at FROM user_changes
+            WHERE relayed_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            """;
+
+    private static final String MARK_RELAYED_PREFIX = "UPDATE user_changes SET relayed_at = :relayedAt, relay_seq = CASE id";
+
+    private static final String RELAYED = """
+            SELECT relay_seq, user_id, change_type, version, occurred_at FROM user_changes
+            WHERE relay_seq > :afterOffset
+            ORDER BY relay_seq
+            LIMIT :limit
+            """;
+
+    private static final String DELETE_RELAYED = """
+            DELETE FROM user_changes WHERE id IN (
+                SELECT id FROM user_changes
+                WHERE relayed_at < :cutoff
+                ORDER BY id
+                LIMIT :limit)
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public UserOutboxRepositoryImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Void> recordChanges(UserChange.Type type, List<User> users) {
+        if (users.isEmpty()) {
+            return Mono.empty();
+        }
+        Instant now = Instant.now();
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + users.size() * 40).append(INSERT_PREFIX);
+        Map<String, Object> parameters = new HashMap<>(users.size() * 4);
+        parameters.put("changeType", Parameters.in(type.name()));
+        parameters.put("occurredAt", Parameters.in(now));
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:userId").append(i).append(", :changeType, :version").append(i).append(", :occurredAt)");
+            parameters.put("userId" + i, Parameters.in(user.getId()));
+            parameters.put("version" + i, user.getVersion() == null ? Parameters.in(Long.class) : Parameters.in(user.getVersion()));
+        }
+        return databaseClient.sql(sql.toString()).bindValues(parameters).fetch().rowsUpdated().then();
+    }
+
+    @Override
+    public Mono<Long> lockRelay() {
+        return databaseClient.sql("SELECT last_seq FROM user_change_relay WHERE id = 1 FOR UPDATE").map(row -> row.get("last_seq", Long.class)).one();
+    }
+
+    @Override
+    public Flux<PendingUserChange> findUnrelayedChanges(int limit) {
+        return databaseClient.sql(UNRELAYED).bind("limit", limit)
+                .map(row -> new PendingUserChange(row.get("id", Long.class), row.get("user_id", UUID.class), type(row), row.get("version", Long.class),
+                        row.get("occurred_at", Instant.class)))
+                .all();
+    }
+
+    @Override
+    public Mono<Void> markRelayed(List<PendingUserChange> changes, long firstOffset, Instant relayedAt) {
+        if (changes.isEmpty()) {
+            return Mono.empty();
+        }
+        StringBuilder sql = new StringBuilder(MARK_RELAYED_PREFIX.length() + changes.size() * 40).append(MARK_RELAYED_PREFIX);
+        StringBuilder ids = new StringBuilder(changes.size() * 8);
+        Map<String, Object> parameters = new HashMap<>(changes.size() * 2 + 1);
+        parameters.put("relayedAt", Parameters.in(relayedAt));
+        for (int i = 0; i < changes.size(); i++) {
+            sql.append(" WHEN :id").append(i).append(" THEN :seq").append(i);
+            ids.append(i > 0 ? ", :id" : ":id").append(i);
+            parameters.put("id" + i, Parameters.in(changes.get(i).id()));
+            parameters.put("seq" + i, Parameters.in(firstOffset + i));
+        }
+        sql.append(" END WHERE id IN (").append(ids).append(')');
+        return databaseClient.sql(sql.toString()).bindValues(parameters).fetch().rowsUpdated()
+                .then(databaseClient.sql("UPDATE user_change_relay SET last_seq = :lastSeq WHERE id = 1").bind("lastSeq", firstOffset + changes.size() - 1)
+                        .fetch().rowsUpdated())
+                .then();
+    }
+
+    @Override
+    public Flux<UserChange> findRelayedChanges(long afterOffset, int limit) {
+        return databaseClient.sql(RELAYED).bind("afterOffset", afterOffset).bind("limit", limit)
+                .map(row -> new UserChange(row.get("relay_seq", Long.class), row.get("user_id", UUID.class), type(row), row.get("version", Long.class),
+                        row.get("occurred_at", Instant.class)))
+                .all();
+    }
+
+    @Override
+    public Mono<Long> deleteRelayedBefore(Instant cutoff, int limit) {
+        return databaseClient.sql(DELETE_RELAYED).bind("cutoff", cutoff).bind("limit", limit).fetch().rowsUpdated();
+    }
+
+    private static UserChange.Type type(Readable row) {
+        return UserChange.Type.valueOf(row.get("change_type", String.class));
+    }
+}
@@ -0,0 +1,28 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.domain.model.UserField;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads that select only the columns of the requested {@link UserField}s.
+ * The returned users are partially loaded: every other property is null.
+ */
+public interface UserProjectionRepository {
+
+    Mono<User> findProjectedById(UUID id, Set<UserField> fields);
+
+    Mono<User> findProjectedByProvider(String provider, String providerId, Set<UserField> fields);
+
+    /**
+     * Same page as {@code findNewestFirst}; {@code id} and
+     * {@code created_at} are always read, for the keyset cursor.
+     */
+    Flux<User> findProjectedNewestFirst(Instant afterCreatedAt, UUID afterId, int limit, Set<UserField> fields);
+}
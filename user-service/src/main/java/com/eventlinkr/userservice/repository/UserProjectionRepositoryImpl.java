@@ -0,0 +1,78 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.domain.model.UserField;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Builds the select list from the requested fields; column names come only
+ * from {@link UserField}, never from client input. Rows are mapped with the
+ * entity converter, which leaves properties without a column unset.
+ */
+@RequiredArgsConstructor
+public class UserProjectionRepositoryImpl implements UserProjectionRepository {
+
+    private static final String BY_ID = " FROM users WHERE id = :id";
+
+    private static final String BY_PROVIDER = " FROM users WHERE provider = :provider AND provider_id = :providerId";
+
+    private static final String NEWEST_FIRST = """
+             FROM users
+            WHERE (:afterCreatedAt IS NULL)
+                OR created_at < :afterCreatedAt
+                OR (created_at = :afterCreatedAt AND id < :afterId)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+
+    @Override
+    public Mono<User> findProjectedById(UUID id, Set<UserField> fields) {
+        return databaseClient.sql(select(fields) + BY_ID).bind("id", id).map((row, metadata) -> converter.read(User.class, row, metadata)).one();
+    }
+
+    @Override
+    public Mono<User> findProjectedByProvider(String provider, String providerId, Set<UserField> fields) {
+        return databaseClient.sql(select(fields) + BY_PROVIDER).bind("provider", provider).bind("providerId", providerId)
+                .map((row, metadata) -> converter.read(User.class, row, metadata)).one();
+    }
+
+    @Override
+    public Flux<User> findProjectedNewestFirst(Instant afterCreatedAt, UUID afterId, int limit, Set<UserField> fields) {
+        GenericExecuteSpec spec = databaseClient.sql(select(fields, UserField.ID, UserField.CREATED_AT) + NEWEST_FIRST).bind("limit", limit);
+        spec = afterCreatedAt == null ? spec.bindNull("afterCreatedAt", Instant.class).bindNull("afterId", UUID.class)
+                : spec.bind("afterCreatedAt", afterCreatedAt).bind("afterId", afterId);
+        return spec.map((row, metadata) -> converter.read(User.class, row, metadata)).all();
+    }
+
+    /**
+     * {@code SELECT} followed by the columns of the given fields plus the
+     * {@code always} ones, each listed once.
+     */
+    static String select(Set<UserField> fields, UserField... always) {
+        StringJoiner columns = new StringJoiner(", ", "SELECT ", "");
+        for (UserField field : always) {
+            if (!fields.contains(field)) {
+                columns.add(field.column());
+            }
+        }
+        for (UserField field : fields) {
+            columns.add(field.column());
+        }
+        return columns.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Bounded hard deletes for the reaper. Each call removes at most
+ * {@code limit} rows in one statement, oldest first, and returns the deleted
+ * rows so in-memory copies can be dropped too.
+ */
+public interface UserPurgeRepository {
+
+    /**
+     * Deletes guests whose {@code guest_expiration} is before {@code cutoff}.
+     */
+    Flux<User> deleteExpiredGuests(Instant cutoff, int limit);
+
+    /**
+     * Deletes soft-deleted users whose {@code updated_at} is before
+     * {@code cutoff}.
+     */
+    Flux<User> deleteSoftDeleted(Instant cutoff, int limit);
+}
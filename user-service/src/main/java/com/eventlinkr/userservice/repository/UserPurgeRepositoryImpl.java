@@ -0,0 +1,64 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Deletes {@code WHERE id IN (SELECT id ... LIMIT n)} so a batch never holds
+ * more than {@code n} row locks. On PostgreSQL the inner select skips rows
+ * locked by other transactions, so a batch never waits on a user being
+ * written and reapers on several nodes split the work instead of queuing;
+ * the deleted rows come back through {@code RETURNING *}. H2 has neither
+ * clause and wraps the DELETE in {@code SELECT * FROM OLD TABLE (...)}.
+ */
+public class UserPurgeRepositoryImpl implements UserPurgeRepository {
+
+    private static final String POSTGRES_VENDOR = "PostgreSQL";
+
+    private static final String EXPIRED_GUESTS = """
+            SELECT id FROM users
+            WHERE guest_expiration < :cutoff
+            ORDER BY guest_expiration
+            LIMIT :limit
+            """;
+
+    private static final String SOFT_DELETED = """
+            SELECT id FROM users
+            WHERE status = 'DELETED' AND updated_at < :cutoff
+            ORDER BY updated_at
+            LIMIT :limit
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+    private final boolean postgres;
+
+    public UserPurgeRepositoryImpl(DatabaseClient databaseClient, R2dbcConverter converter) {
+        this.databaseClient = databaseClient;
+        this.converter = converter;
+        this.postgres = POSTGRES_VENDOR.equalsIgnoreCase(databaseClient.getConnectionFactory().getMetadata().getName());
+    }
+
+    @Override
+    public Flux<User> deleteExpiredGuests(Instant cutoff, int limit) {
+        return delete(EXPIRED_GUESTS, cutoff, limit);
+    }
+
+    @Override
+    public Flux<User> deleteSoftDeleted(Instant cutoff, int limit) {
+        return delete(SOFT_DELETED, cutoff, limit);
+    }
+
+    private Flux<User> delete(String selectIds, Instant cutoff, int limit) {
+        String sql = postgres ? "DELETE FROM users WHERE id IN (" + selectIds + "FOR UPDATE SKIP LOCKED) RETURNING *"
+                : "SELECT * FROM OLD TABLE (DELETE FROM users WHERE id IN (" + selectIds + "))";
+        return databaseClient.sql(sql).bind("cutoff", cutoff).bind("limit", limit).map((row, metadata) -> converter.read(User.class, row, metadata))
+                .all();
+    }
+}
@@ -1,17 +1,19 @@
 package com.eventlinkr.userservice.repository;
 
 import com.eventlinkr.userservice.domain.model.User;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends ReactiveCrudRepository<User, UUID> {
+public interface UserRepository extends ReactiveCrudRepository<User, UUID>, UserSearchRepository, UserBulkRepository, UserWriteRepository,
+        UserProjectionRepository, UserLookupRepository, UserPurgeRepository, UserOutboxRepository {
     // Existing methods
     Mono<User> findByEmail(String email);
 
@@ -25,45 +27,49 @@ public interface UserRepository extends ReactiveCrudRepository<User, UUID> {
 
     Flux<User> findByStatus(User.UserStatus status);
 
-    // Updated search method with pagination
+    @Query("SELECT email, username FROM users")
+    Flux<UserIdentity> findAllIdentities();
+
+    // Identities of users created or updated from a lower bound on, for catching up the availability filters
+    @Query("SELECT email, username FROM users WHERE updated_at >= :since")
+    Flux<UserIdentity> findIdentitiesUpdatedSince(Instant since);
+
+    @Query("SELECT email FROM users WHERE email IN (:emails)")
+    Flux<String> findExistingEmails(Collection<String> emails);
+
+    // Keyset page of all users ordered by (created_at, id), newest first
     @Query("""
                 SELECT * FROM users
-                WHERE (:term IS NULL) OR (
-                    LOWER(full_name) LIKE LOWER(concat('%', :term, '%'))
-                    OR LOWER(email) LIKE LOWER(concat('%', :term, '%'))
-                    OR LOWER(username) LIKE LOWER(concat('%', :term, '%'))
-                )
-                ORDER BY created_at DESC
-                LIMIT :#{#pageable.pageSize} OFFSET :#{#pageable.offset}
+                WHERE (:afterCreatedAt IS NULL)
+                    OR created_at < :afterCreatedAt
+                    OR (created_at = :afterCreatedAt AND id < :afterId)
+                ORDER BY created_at DESC, id DESC
+                LIMIT :limit
             """)
-    Flux<User> searchUsers(String term, Pageable pageable);
+    Flux<User> findNewestFirst(Instant afterCreatedAt, UUID afterId, int limit);
 
-    // Count total results for pagination
+    // Keyset chunk of users ordered by (updated_at, id) for export, optionally filtered by status and an updated_at lower bound
     @Query("""
-                SELECT COUNT(*) FROM users
-                WHERE (:term IS NULL) OR (
-                    LOWER(full_name) LIKE LOWER(concat('%', :term, '%'))
-                    OR LOWER(email) LIKE LOWER(concat('%', :term, '%'))
-                    OR LOWER(username) LIKE LOWER(concat('%', :term, '%'))
-                )
+                SELECT id, username, email, full_name, headline, profile_link, avatar_url, bio, status, provider, provider_id,
+                    email_verified, created_at, updated_at, last_login_at
+                FROM users
+                WHERE (:status IS NULL OR status = :status)
+                    AND (:updatedSince IS NULL OR updated_at >= :updatedSince)
+                    AND ((:afterUpdatedAt IS NULL)
+                        OR updated_at > :afterUpdatedAt
+                        OR (updated_at = :afterUpdatedAt AND id > :afterId))
+                ORDER BY updated_at, id
+                LIMIT :limit
             """)
-    Mono<Long> countSearchResults(String term);
+    Flux<User> findForExport(String status, Instant updatedSince, Instant afterUpdatedAt, UUID afterId, int limit);
 
-    // Updated update method
-    @Query("""
-                UPDATE users
-                SET username = :#{#user.username},
-                    email = :#{#user.email},
-                    full_name = :#{#user.fullName},
-                    bio = :#{#user.bio},
-                    headline = :#{#user.headline},
-                    profile_link = :#{#user.profileLink},
-                    headshot = :#{#user.avatarUrl},
-                    updated_at = NOW()
-                WHERE id = :#{#user.id}
-                RETURNING *
-            """)
-    Mono<User> updateUser(User user);
+    // Creation times from a lower bound on, for rebuilding the in-memory user statistics
+    @Query("SELECT created_at FROM users WHERE created_at >= :since")
+    Flux<Instant> findCreatedAtSince(Instant since);
+
+    // Id, status and last update of users updated from a lower bound on, for rebuilding the in-memory user statistics
+    @Query("SELECT id, status, updated_at FROM users WHERE updated_at >= :since")
+    Flux<UserStatusUpdate> findStatusUpdatesSince(Instant since);
 
     // Soft delete
     @Query("""
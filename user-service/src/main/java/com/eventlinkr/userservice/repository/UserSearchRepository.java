@@ -0,0 +1,34 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import com.eventlinkr.userservice.domain.model.UserField;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Relevance-ranked user search over username, full name and email.
+ */
+public interface UserSearchRepository {
+
+    /**
+     * Returns users matching {@code term}, best matches first, then newest
+     * first. Results resume strictly after the given keyset position when
+     * {@code afterRank} is not null.
+     */
+    Flux<RankedUser> searchUsers(String term, Integer afterRank, Instant afterCreatedAt, UUID afterId, int limit);
+
+    /**
+     * Same search, reading only the columns of the given fields plus the
+     * {@code id} and {@code created_at} the keyset needs.
+     */
+    Flux<RankedUser> searchUsers(String term, Integer afterRank, Instant afterCreatedAt, UUID afterId, int limit, Set<UserField> fields);
+
+    /**
+     * Counts users matching {@code term}, or all users when it is null.
+     */
+    Mono<Long> countSearchResults(String term);
+}
@@ -0,0 +1,226 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.domain.model.UserField;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Search queries written against lower-cased columns with pre-built LIKE
+ * patterns. Ranking uses fixed tiers rather than a floating-point score so
+ * that the (rank, created_at, id) keyset is exact across pages. On H2 each
+ * tier is its own branch of a {@code UNION ALL}, ordered by (created_at, id)
+ * and limited to a page.
+ * <p>
+ * PostgreSQL gets its own query. The driver caches prepared statements, and
+ * after a few executions the server may switch to a generic plan that cannot
+ * see the term; for the query above that plan walks the created_at index in
+ * every tier, which reads most of the table when a term is rare. Here each
+ * tier below the exact one first looks for a page among the newest
+ * {@value #RECENT_WINDOW} users after the keyset, which ends early for broad
+ * terms. Only when that window holds less than a page does the tier read its
+ * matches from an index: the {@code text_pattern_ops} indexes from
+ * {@code V10__add_users_search_prefix_indexes_postgres.sql} for the exact and
+ * prefix tiers, queried as ranges since a generic plan cannot use them for a
+ * LIKE, and the {@code pg_trgm} GIN indexes from
+ * {@code V3__add_users_search_indexes_postgres.sql} for the word-prefix and
+ * substring tiers. Those matches sit in a materialized CTE so the planner
+ * cannot turn them back into a created_at walk, and a tier does not run at all
+ * once the better ones fill the page. The count uses the substring predicate,
+ * which the GIN indexes serve in either kind of plan.
+ */
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private static final String POSTGRES_VENDOR = "PostgreSQL";
+
+    // Newest users a tier looks through on PostgreSQL before reading its matches from an index
+    static final int RECENT_WINDOW = 2000;
+
+    private static final String MATCHES = """
+            (LOWER(full_name) LIKE :contains
+                OR LOWER(email) LIKE :contains
+                OR LOWER(username) LIKE :contains)
+            """;
+
+    // Best first; a user belongs to the first tier it matches, and every tier implies MATCHES
+    private static final List<String> TIERS = List.of("LOWER(username) = :term OR LOWER(email) = :term",
+            "LOWER(username) LIKE :prefix OR LOWER(full_name) LIKE :prefix OR LOWER(email) LIKE :prefix", "LOWER(full_name) LIKE :wordPrefix",
+            MATCHES);
+
+    // The same tiers, with the prefix one as text_pattern_ops ranges
+    private static final List<String> POSTGRES_TIERS = List.of(TIERS.get(0), """
+            (LOWER(username) ~>=~ :prefixFrom AND LOWER(username) ~<~ :prefixTo)
+                OR (LOWER(full_name) ~>=~ :prefixFrom AND LOWER(full_name) ~<~ :prefixTo)
+                OR (LOWER(email) ~>=~ :prefixFrom AND LOWER(email) ~<~ :prefixTo)
+            """, TIERS.get(2), MATCHES);
+
+    private static final String AFTER_KEYSET = """
+            ((:afterRank IS NULL)
+                    OR %1$d > :afterRank
+                    OR (%1$d = :afterRank AND (created_at < :afterCreatedAt
+                        OR (created_at = :afterCreatedAt AND id < :afterId))))""";
+
+    private static final String TIER_QUERY = """
+            (SELECT users.*, %1$d AS search_rank
+            FROM users
+            WHERE %2$s
+                AND %3$s
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit)
+            """;
+
+    // Preceded by the select list
+    private static final String SEARCH_QUERY = """
+             FROM (
+            %s) ranked
+            ORDER BY search_rank, created_at DESC, id DESC
+            LIMIT :limit
+            """.formatted(IntStream.range(0, TIERS.size()).mapToObj(UserSearchRepositoryImpl::tierQuery).collect(Collectors.joining("UNION ALL\n")));
+
+    private static final String POSTGRES_TIER_QUERY = """
+            recent%1$d AS (
+                SELECT recent.*, %1$d AS search_rank
+                FROM (SELECT * FROM users WHERE %3$s ORDER BY created_at DESC, id DESC LIMIT :window) recent
+                WHERE %2$s
+                ORDER BY created_at DESC, id DESC
+                LIMIT :limit),
+            indexed%1$d AS MATERIALIZED (
+                SELECT id, created_at
+                FROM users
+                WHERE %2$s
+                    AND %3$s),
+            tier%1$d AS (
+                SELECT * FROM recent%1$d WHERE (SELECT COUNT(*) FROM recent%1$d) = :limit
+                UNION ALL
+                SELECT users.*, %1$d AS search_rank
+                FROM users
+                WHERE (SELECT COUNT(*) FROM recent%1$d) < :limit
+                    AND id IN (SELECT id FROM indexed%1$d ORDER BY created_at DESC, id DESC LIMIT :limit)),
+            upto%1$d AS (
+                SELECT * FROM upto%4$d
+                UNION ALL
+                SELECT * FROM tier%1$d WHERE (SELECT COUNT(*) FROM upto%4$d) < :limit)""";
+
+    // Surrounds the select list
+    private static final String POSTGRES_SEARCH_WITH = "WITH upto0 AS " + tierQuery(0) + ",\n"
+            + IntStream.range(1, POSTGRES_TIERS.size()).mapToObj(UserSearchRepositoryImpl::postgresTierQuery).collect(Collectors.joining(",\n")) + "\n";
+    private static final String POSTGRES_SEARCH_QUERY = """
+             FROM upto%d ranked
+            ORDER BY search_rank, created_at DESC, id DESC
+            LIMIT :limit
+            """.formatted(POSTGRES_TIERS.size() - 1);
+
+    private static final String COUNT_QUERY = "SELECT COUNT(*) FROM users WHERE " + MATCHES;
+
+    private static final String COUNT_ALL_QUERY = "SELECT COUNT(*) FROM users";
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+    private final boolean postgres;
+
+    public UserSearchRepositoryImpl(DatabaseClient databaseClient, R2dbcConverter converter) {
+        this(databaseClient, converter, POSTGRES_VENDOR.equalsIgnoreCase(databaseClient.getConnectionFactory().getMetadata().getName()));
+    }
+
+    UserSearchRepositoryImpl(DatabaseClient databaseClient, R2dbcConverter converter, boolean postgres) {
+        this.databaseClient = databaseClient;
+        this.converter = converter;
+        this.postgres = postgres;
+    }
+
+    @Override
+    public Flux<RankedUser> searchUsers(String term, Integer afterRank, Instant afterCreatedAt, UUID afterId, int limit) {
+        return search("SELECT *", term, afterRank, afterCreatedAt, afterId, limit);
+    }
+
+    @Override
+    public Flux<RankedUser> searchUsers(String term, Integer afterRank, Instant afterCreatedAt, UUID afterId, int limit, Set<UserField> fields) {
+        String select = UserProjectionRepositoryImpl.select(fields, UserField.ID, UserField.CREATED_AT) + ", search_rank";
+        return search(select, term, afterRank, afterCreatedAt, afterId, limit);
+    }
+
+    private Flux<RankedUser> search(String select, String term, Integer afterRank, Instant afterCreatedAt, UUID afterId, int limit) {
+        String normalized = term.toLowerCase(Locale.ROOT);
+        String escaped = escapeLike(normalized);
+
+        GenericExecuteSpec spec = postgres
+                ? databaseClient.sql(POSTGRES_SEARCH_WITH + select + POSTGRES_SEARCH_QUERY).bind("prefixFrom", normalized)
+                        .bind("prefixTo", successor(normalized)).bind("window", RECENT_WINDOW)
+                : databaseClient.sql(select + SEARCH_QUERY).bind("prefix", escaped + "%");
+        spec = spec.bind("term", normalized).bind("contains", "%" + escaped + "%").bind("wordPrefix", "% " + escaped + "%").bind("limit", limit);
+        spec = afterRank == null ? spec.bindNull("afterRank", Integer.class).bindNull("afterCreatedAt", Instant.class).bindNull("afterId", UUID.class)
+                : spec.bind("afterRank", afterRank).bind("afterCreatedAt", afterCreatedAt).bind("afterId", afterId);
+
+        return spec.map((row, metadata) -> new RankedUser(converter.read(User.class, row, metadata), row.get("search_rank", Integer.class))).all();
+    }
+
+    @Override
+    public Mono<Long> countSearchResults(String term) {
+        if (term == null) {
+            return databaseClient.sql(COUNT_ALL_QUERY).map(row -> row.get(0, Long.class)).one();
+        }
+        String contains = "%" + escapeLike(term.toLowerCase(Locale.ROOT)) + "%";
+        return databaseClient.sql(COUNT_QUERY).bind("contains", contains).map(row -> row.get(0, Long.class)).one();
+    }
+
+    /**
+     * The branch of {@link #SEARCH_QUERY} returning the users of tier
+     * {@code rank} that are not in a better one. IS NOT TRUE keeps users for
+     * whom a better tier is unknown because its columns are null.
+     */
+    private static String tierQuery(int rank) {
+        return TIER_QUERY.formatted(rank, tierMatches(TIERS, rank), AFTER_KEYSET.formatted(rank));
+    }
+
+    /**
+     * The CTEs of {@link #POSTGRES_SEARCH_WITH} for tier {@code rank}, ending
+     * with {@code upto<rank>}: the users of this tier and the better ones,
+     * where this tier only runs if the better ones returned less than a page.
+     */
+    private static String postgresTierQuery(int rank) {
+        return POSTGRES_TIER_QUERY.formatted(rank, tierMatches(POSTGRES_TIERS, rank), AFTER_KEYSET.formatted(rank), rank - 1);
+    }
+
+    private static String tierMatches(List<String> tiers, int rank) {
+        return "(" + tiers.get(rank).strip() + ")"
+                + tiers.subList(0, rank).stream().map(tier -> "\n    AND (" + tier.strip() + ") IS NOT TRUE").collect(Collectors.joining());
+    }
+
+    /**
+     * The smallest string above every string starting with {@code prefix} in
+     * code point order, which is how {@code text_pattern_ops} compares UTF-8
+     * text.
+     */
+    static String successor(String prefix) {
+        if (prefix.isEmpty()) {
+            return prefix;
+        }
+        int last = prefix.codePointBefore(prefix.length());
+        String head = prefix.substring(0, prefix.length() - Character.charCount(last));
+        if (last == Character.MAX_CODE_POINT) {
+            return successor(head);
+        }
+        return head + Character.toString(last + 1 == Character.MIN_SURROGATE ? Character.MAX_SURROGATE + 1 : last + 1);
+    }
+
+    /**
+     * Escapes LIKE wildcards so user input is matched literally; both H2 and
+     * PostgreSQL use backslash as the default escape character.
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
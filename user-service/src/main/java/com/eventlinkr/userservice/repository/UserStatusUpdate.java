@@ -0,0 +1,13 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+/**
+ * A user's id, status and when the user was last updated, read without
+ * loading the full row.
+ */
+public record UserStatusUpdate(UUID id, User.UserStatus status, Instant updatedAt) {
+}
@@ -0,0 +1,39 @@
+package com.eventlinkr.userservice.repository;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Single-statement writes that return the stored row instead of reloading it.
+ */
+public interface UserWriteRepository {
+
+    /**
+     * Inserts the user and returns the stored row in one round trip. Status,
+     * timestamps and counters are filled in by column defaults. Completes
+     * empty, without raising, when the email, username or provider account is
+     * already taken.
+     */
+    Mono<User> insertIfAbsent(User user);
+
+    /**
+     * Sets only the given profile columns, bumps {@code version} and
+     * {@code updated_at}, and returns the updated row in one statement. When
+     * {@code expectedVersion} is not null the row is only updated if its
+     * version still matches. Completes empty when no row was updated, either
+     * because the user does not exist or because the version moved on.
+     */
+    Mono<User> updateProfile(UUID id, Map<String, String> columns, Long expectedVersion);
+
+    /**
+     * Returns which unique keys of {@code user} ({@code email},
+     * {@code username}, {@code provider}) are held by other rows than the
+     * user's own.
+     */
+    Mono<Set<String>> findTakenKeys(User user);
+}
@@ -0,0 +1,144 @@
+package com.eventlinkr.userservice.repository;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Parameters;
+import reactor.core.publisher.Mono;
+
+/**
+ * On PostgreSQL the insert is {@code INSERT ... ON CONFLICT DO NOTHING
+ * RETURNING *}, so a taken key yields no row rather than an aborted statement.
+ * H2 has neither clause; there the insert is wrapped in
+ * {@code SELECT * FROM FINAL TABLE (...)} and its duplicate-key error is
+ * mapped to the same empty result. Profile updates are a single
+ * {@code UPDATE ... RETURNING *} on PostgreSQL; H2 re-reads the row after the
+ * UPDATE.
+ */
+public class UserWriteRepositoryImpl implements UserWriteRepository {
+
+    private static final String POSTGRES_VENDOR = "PostgreSQL";
+
+    private static final String INSERT = """
+            INSERT INTO users (id, username, email, password_hash, full_name, headline, profile_link, avatar_url, headshot, bio, provider,
+                provider_id, guest_expiration)
+            VALUES (:id, :username, :email, :passwordHash, :fullName, :headline, :profileLink, :avatarUrl, :headshot, :bio, :provider,
+                :providerId, :guestExpiration)
+            """;
+
+    private static final String POSTGRES_INSERT = INSERT + "ON CONFLICT DO NOTHING RETURNING *";
+
+    private static final String H2_INSERT = "SELECT * FROM FINAL TABLE (" + INSERT + ")";
+
+    private static final Set<String> PROFILE_COLUMNS = Set.of("username", "email", "full_name", "bio", "avatar_url", "headline", "profile_link");
+
+    private static final String TAKEN_KEYS_QUERY = """
+            SELECT email, username, provider, provider_id FROM users
+            WHERE (:id IS NULL OR id <> :id)
+                AND (email = :email OR username = :username OR (provider = :provider AND provider_id = :providerId))
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+    private final boolean postgres;
+
+    public UserWriteRepositoryImpl(DatabaseClient databaseClient, R2dbcConverter converter) {
+        this.databaseClient = databaseClient;
+        this.converter = converter;
+        this.postgres = POSTGRES_VENDOR.equalsIgnoreCase(databaseClient.getConnectionFactory().getMetadata().getName());
+    }
+
+    @Override
+    public Mono<User> insertIfAbsent(User user) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("id", parameter(user.getId() == null ? UUID.randomUUID() : user.getId(), UUID.class));
+        parameters.put("username", parameter(user.getUsername(), String.class));
+        parameters.put("email", parameter(user.getEmail(), String.class));
+        parameters.put("passwordHash", parameter(user.getPasswordHash(), String.class));
+        parameters.put("fullName", parameter(user.getFullName(), String.class));
+        parameters.put("headline", parameter(user.getHeadline(), String.class));
+        parameters.put("profileLink", parameter(user.getProfileLink(), String.class));
+        parameters.put("avatarUrl", parameter(user.getAvatarUrl(), String.class));
+        parameters.put("headshot", parameter(user.getHeadshot(), String.class));
+        parameters.put("bio", parameter(user.getBio(), String.class));
+        parameters.put("provider", parameter(user.getProvider(), String.class));
+        parameters.put("providerId", parameter(user.getProviderId(), String.class));
+        parameters.put("guestExpiration", parameter(user.getGuestExpiration(), Instant.class));
+
+        Mono<User> inserted = databaseClient.sql(postgres ? POSTGRES_INSERT : H2_INSERT).bindValues(parameters)
+                .map((row, metadata) -> converter.read(User.class, row, metadata)).one();
+        return postgres ? inserted : inserted.onErrorResume(DuplicateKeyException.class, error -> Mono.empty());
+    }
+
+    @Override
+    public Mono<User> updateProfile(UUID id, Map<String, String> columns, Long expectedVersion) {
+        StringBuilder update = new StringBuilder("UPDATE users SET ");
+        Map<String, Object> parameters = new HashMap<>();
+        columns.forEach((column, value) -> {
+            if (!PROFILE_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Not an updatable profile column: " + column);
+            }
+            update.append(column).append(" = :").append(column).append(", ");
+            parameters.put(column, parameter(value, String.class));
+        });
+        update.append("version = version + 1, updated_at = :updatedAt WHERE id = :id");
+        parameters.put("updatedAt", Parameters.in(Instant.now()));
+        parameters.put("id", Parameters.in(id));
+        if (expectedVersion != null) {
+            update.append(" AND version = :version");
+            parameters.put("version", Parameters.in(expectedVersion));
+        }
+
+        if (postgres) {
+            return databaseClient.sql(update.append(" RETURNING *").toString()).bindValues(parameters)
+                    .map((row, metadata) -> converter.read(User.class, row, metadata)).one();
+        }
+        // H2 drops the row when an UPDATE inside FINAL TABLE fails a unique check, so it updates and re-reads instead
+        return databaseClient.sql(update.toString()).bindValues(parameters).fetch().rowsUpdated().filter(updated -> updated > 0)
+                .flatMap(updated -> databaseClient.sql("SELECT * FROM users WHERE id = :id").bind("id", id)
+                        .map((row, metadata) -> converter.read(User.class, row, metadata)).one());
+    }
+
+    @Override
+    public Mono<Set<String>> findTakenKeys(User user) {
+        return databaseClient.sql(TAKEN_KEYS_QUERY).bind("id", parameter(user.getId(), UUID.class))
+                .bind("email", parameter(user.getEmail(), String.class)).bind("username", parameter(user.getUsername(), String.class))
+                .bind("provider", parameter(user.getProvider(), String.class)).bind("providerId", parameter(user.getProviderId(), String.class))
+                .map((row, metadata) -> {
+                    Set<String> keys = new HashSet<>();
+                    if (matches(user.getEmail(), row.get("email", String.class))) {
+                        keys.add("email");
+                    }
+                    if (matches(user.getUsername(), row.get("username", String.class))) {
+                        keys.add("username");
+                    }
+                    if (matches(user.getProvider(), row.get("provider", String.class))
+                            && matches(user.getProviderId(), row.get("provider_id", String.class))) {
+                        keys.add("provider");
+                    }
+                    return keys;
+                }).all().reduce(new HashSet<>(), (taken, keys) -> {
+                    taken.addAll(keys);
+                    return taken;
+                });
+    }
+
+    private static boolean matches(String value, String stored) {
+        return value != null && value.equals(stored);
+    }
+
+    private static Parameter parameter(Object value, Class<?> type) {
+        return value == null ? Parameters.in(type) : Parameters.in(value);
+    }
+}
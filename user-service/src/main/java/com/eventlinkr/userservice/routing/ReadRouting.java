@@ -0,0 +1,134 @@
+package com.eventlinkr.userservice.routing;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.eventlinkr.userservice.domain.model.ProviderKey;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.service.UserChangeListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Marks read-only queries as safe to serve from a read replica. A marked
+ * query runs on a replica connection when {@code eventlinkr.r2dbc.replica.urls}
+ * is set; anything unmarked, including every write, runs on the primary.
+ * <p>
+ * For read-your-writes, a user written on this node stays pinned to the
+ * primary for {@code sticky-window} afterwards: sticky reads of its id or
+ * provider key skip the replica. The window should exceed the normal
+ * replication lag. Sticky reads are counted in
+ * {@code eventlinkr.r2dbc.reads.sticky}.
+ * <p>
+ * Stickiness is node-local: the recent writes live in this node's memory
+ * only. A caller whose read lands on another node than its write can read an
+ * older copy from a replica until replication catches up. Across nodes,
+ * read-your-writes holds only when the load balancer keeps a caller on the
+ * node it wrote through; otherwise reads can lag writes made elsewhere by up
+ * to the replication lag.
+ */
+@Slf4j
+@Component
+public class ReadRouting implements UserChangeListener {
+
+    private static final String REPLICA_KEY = ReadRouting.class.getName() + ".replica";
+    private static final Context REPLICA_CONTEXT = Context.of(REPLICA_KEY, Boolean.TRUE);
+
+    private final boolean enabled;
+    private final Cache<Object, Boolean> recentWrites;
+    private final Counter stickyReads;
+
+    public ReadRouting(MeterRegistry meterRegistry, @Value("${eventlinkr.r2dbc.replica.urls:}") List<String> replicaUrls,
+            @Value("${eventlinkr.r2dbc.replica.sticky-window:PT5S}") Duration stickyWindow,
+            @Value("${eventlinkr.r2dbc.replica.sticky-maximum-size:100000}") long stickyMaximumSize) {
+        this.enabled = !replicaUrls.isEmpty();
+        this.recentWrites = Caffeine.newBuilder().maximumSize(stickyMaximumSize).expireAfterWrite(stickyWindow).build();
+        this.stickyReads = Counter.builder("eventlinkr.r2dbc.reads.sticky").description("Replica-safe reads sent to the primary after a recent write")
+                .register(meterRegistry);
+        if (enabled) {
+            log.info("Read routing enabled for {} replicas (sticky window {})", replicaUrls.size(), stickyWindow);
+        }
+    }
+
+    /**
+     * Whether a connection requested under this context may come from a
+     * replica.
+     */
+    public static boolean isReplicaRead(ContextView context) {
+        return context.hasKey(REPLICA_KEY);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public <T> Mono<T> read(Mono<T> query) {
+        return enabled ? query.contextWrite(REPLICA_CONTEXT) : query;
+    }
+
+    public <T> Flux<T> read(Flux<T> query) {
+        return enabled ? query.contextWrite(REPLICA_CONTEXT) : query;
+    }
+
+    /**
+     * Reads {@code key} (a user id or {@link ProviderKey}) from a replica
+     * unless it was written on this node within the sticky window.
+     */
+    public <T> Mono<T> readSticky(Object key, Mono<T> query) {
+        if (enabled && recentWrites.getIfPresent(key) != null) {
+            stickyReads.increment();
+            return query;
+        }
+        return read(query);
+    }
+
+    /**
+     * Reads from a replica unless any of {@code keys} was written recently.
+     */
+    public <T> Mono<T> readSticky(Collection<?> keys, Mono<T> query) {
+        if (enabled && keys.stream().anyMatch(key -> recentWrites.getIfPresent(key) != null)) {
+            stickyReads.increment();
+            return query;
+        }
+        return read(query);
+    }
+
+    @Override
+    public void onUserCreated(User user) {
+        recordWrite(user);
+    }
+
+    @Override
+    public void onUserUpdated(User user) {
+        recordWrite(user);
+    }
+
+    @Override
+    public void onUserDeleted(User user) {
+        recordWrite(user);
+    }
+
+    private void recordWrite(User user) {
+        if (!enabled) {
+            return;
+        }
+        if (user.getId() != null) {
+            recentWrites.put(user.getId(), Boolean.TRUE);
+        }
+        if (user.getProvider() != null && user.getProviderId() != null) {
+            recentWrites.put(new ProviderKey(user.getProvider(), user.getProviderId()), Boolean.TRUE);
+        }
+    }
+}
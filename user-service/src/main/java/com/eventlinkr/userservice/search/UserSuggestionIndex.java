@@ -0,0 +1,358 @@
+package com.eventlinkr.userservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.eventlinkr.userservice.domain.dto.UserSuggestion;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.service.UserChangeListener;
+import com.eventlinkr.userservice.utils.LoggingFormat;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process prefix index over username, email and full-name words used for
+ * typeahead suggestions.
+ * <p>
+ * Users are interned into integer slots backed by parallel arrays that keep
+ * only the fields needed to answer and verify a match; the token map holds a
+ * growable primitive slot array per distinct token, appended to in place so
+ * that loading many users sharing a token stays linear. Reads are lock-free,
+ * writes are serialized, and the number of indexed users is capped by
+ * {@code eventlinkr.suggest.max-entries}. Tokens are truncated to
+ * {@value #MAX_TOKEN_LENGTH} characters and every candidate is re-checked
+ * against its fields, so longer prefixes and slots reused by a concurrent
+ * write never produce false matches.
+ * <p>
+ * The initial load streams rows while writes keep arriving through the
+ * listener, so a row read before a write can be delivered after it. Users a
+ * write touched since the load started are therefore skipped by the load: the
+ * listener already holds their latest state, or their deletion.
+ */
+@Slf4j
+@Component
+public class UserSuggestionIndex implements UserChangeListener {
+
+    static final int MAX_TOKEN_LENGTH = 32;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+
+    private final ConcurrentSkipListMap<String, Posting> postings = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Integer> slotsById = new ConcurrentHashMap<>();
+    private volatile Slots slots = new Slots(INITIAL_CAPACITY);
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int nextSlot;
+    private Set<UUID> touchedDuringLoad;
+
+    public UserSuggestionIndex(UserRepository userRepository, @Value("${eventlinkr.suggest.max-entries:500000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Streams the users table into the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            touchedDuringLoad = new HashSet<>();
+        }
+        userRepository.findAll().doOnNext(this::putLoaded).count().doFinally(signal -> finishLoad()).subscribe(count -> log.info("Suggestion index built from {} users", count),
+                error -> log.error(LoggingFormat.ERROR_OPERATION, "building suggestion index", error.getMessage()));
+    }
+
+    /**
+     * Returns up to {@code limit} users with a username, email or full-name word
+     * starting with {@code prefix}; exact token matches come first, then
+     * lexicographic order.
+     */
+    public List<UserSuggestion> suggest(String prefix, int limit) {
+        String normalized = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String key = truncate(normalized);
+        ConcurrentNavigableMap<String, Posting> range = postings.subMap(key, true, key + Character.MAX_VALUE, false);
+
+        List<UserSuggestion> results = new ArrayList<>(Math.min(limit, 16));
+        int[] seen = new int[limit];
+        for (Posting posting : range.values()) {
+            int size = posting.size;
+            int[] postingSlots = posting.slots;
+            for (int i = 0; i < size; i++) {
+                int slot = postingSlots[i];
+                Slots current = slots;
+                if (!contains(seen, results.size(), slot) && current.matches(slot, normalized)) {
+                    seen[results.size()] = slot;
+                    results.add(current.toSuggestion(slot));
+                    if (results.size() == limit) {
+                        return results;
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    public int size() {
+        return slotsById.size();
+    }
+
+    @Override
+    public synchronized void onUserCreated(User user) {
+        touch(user.getId());
+        put(user);
+    }
+
+    @Override
+    public synchronized void onUserUpdated(User user) {
+        touch(user.getId());
+        put(user);
+    }
+
+    @Override
+    public synchronized void onUserDeleted(User user) {
+        touch(user.getId());
+        remove(user.getId());
+    }
+
+    synchronized void putLoaded(User user) {
+        if (touchedDuringLoad == null || !touchedDuringLoad.contains(user.getId())) {
+            put(user);
+        }
+    }
+
+    private void touch(UUID id) {
+        if (touchedDuringLoad != null && id != null) {
+            touchedDuringLoad.add(id);
+        }
+    }
+
+    private synchronized void finishLoad() {
+        touchedDuringLoad = null;
+    }
+
+    synchronized void put(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        Integer slot = slotsById.get(user.getId());
+        if (slot == null) {
+            if (slotsById.size() >= maxEntries) {
+                log.debug("Suggestion index full ({} entries), skipping user {}", maxEntries, user.getId());
+                return;
+            }
+            slot = allocateSlot();
+            slotsById.put(user.getId(), slot);
+        } else {
+            unlink(slot);
+        }
+        slots.store(slot, user);
+        link(slot);
+    }
+
+    synchronized void remove(UUID id) {
+        Integer slot = id == null ? null : slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        unlink(slot);
+        slots.clear(slot);
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (nextSlot == slots.capacity()) {
+            slots = slots.grow();
+        }
+        return nextSlot++;
+    }
+
+    private void link(int slot) {
+        for (String token : slots.tokens(slot)) {
+            Posting posting = postings.get(token);
+            if (posting == null) {
+                postings.put(token, new Posting(new int[] { slot }));
+            } else {
+                posting.append(slot);
+            }
+        }
+    }
+
+    private void unlink(int slot) {
+        for (String token : slots.tokens(slot)) {
+            Posting posting = postings.get(token);
+            if (posting == null) {
+                continue;
+            }
+            // Copied rather than compacted in place, which would shift slots under a concurrent reader
+            int[] remaining = Arrays.stream(posting.slots, 0, posting.size).filter(candidate -> candidate != slot).toArray();
+            if (remaining.length == 0) {
+                postings.remove(token);
+            } else {
+                postings.put(token, new Posting(remaining));
+            }
+        }
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String truncate(String token) {
+        return token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token;
+    }
+
+    private static boolean startsWithIgnoreCase(String value, int offset, String prefix) {
+        return value.regionMatches(true, offset, prefix, 0, prefix.length());
+    }
+
+    /**
+     * Slots indexed under one token. Appends grow the array by doubling and
+     * publish each slot through the volatile {@code size}; readers read
+     * {@code size} before {@code slots} and look at that many entries only.
+     */
+    private static final class Posting {
+        private int[] slots;
+        private volatile int size;
+
+        Posting(int[] slots) {
+            this.slots = slots;
+            this.size = slots.length;
+        }
+
+        void append(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size] = slot;
+            size++;
+        }
+    }
+
+    /**
+     * Parallel arrays holding the indexed fields of each slot.
+     */
+    private static final class Slots {
+        private final UUID[] ids;
+        private final String[] usernames;
+        private final String[] emails;
+        private final String[] fullNames;
+        private final String[] avatarUrls;
+
+        Slots(int capacity) {
+            this(new UUID[capacity], new String[capacity], new String[capacity], new String[capacity], new String[capacity]);
+        }
+
+        private Slots(UUID[] ids, String[] usernames, String[] emails, String[] fullNames, String[] avatarUrls) {
+            this.ids = ids;
+            this.usernames = usernames;
+            this.emails = emails;
+            this.fullNames = fullNames;
+            this.avatarUrls = avatarUrls;
+        }
+
+        int capacity() {
+            return ids.length;
+        }
+
+        Slots grow() {
+            int capacity = ids.length * 2;
+            return new Slots(Arrays.copyOf(ids, capacity), Arrays.copyOf(usernames, capacity), Arrays.copyOf(emails, capacity),
+                    Arrays.copyOf(fullNames, capacity), Arrays.copyOf(avatarUrls, capacity));
+        }
+
+        void store(int slot, User user) {
+            ids[slot] = user.getId();
+            usernames[slot] = user.getUsername();
+            emails[slot] = user.getEmail();
+            fullNames[slot] = user.getFullName();
+            avatarUrls[slot] = user.getAvatarUrl();
+        }
+
+        void clear(int slot) {
+            ids[slot] = null;
+            usernames[slot] = null;
+            emails[slot] = null;
+            fullNames[slot] = null;
+            avatarUrls[slot] = null;
+        }
+
+        Set<String> tokens(int slot) {
+            Set<String> tokens = new LinkedHashSet<>();
+            addToken(tokens, usernames[slot]);
+            addToken(tokens, emails[slot]);
+            String fullName = fullNames[slot];
+            if (fullName != null) {
+                addToken(tokens, fullName);
+                for (String word : fullName.trim().split("\\s+")) {
+                    addToken(tokens, word);
+                }
+            }
+            return tokens;
+        }
+
+        boolean matches(int slot, String prefix) {
+            if (slot >= ids.length || ids[slot] == null) {
+                return false;
+            }
+            String username = usernames[slot];
+            String email = emails[slot];
+            String fullName = fullNames[slot];
+            if ((username != null && startsWithIgnoreCase(username, 0, prefix)) || (email != null && startsWithIgnoreCase(email, 0, prefix))) {
+                return true;
+            }
+            if (fullName == null) {
+                return false;
+            }
+            String trimmed = fullName.trim();
+            for (int start = 0; start < trimmed.length(); start++) {
+                boolean wordStart = start == 0 || Character.isWhitespace(trimmed.charAt(start - 1));
+                if (wordStart && startsWithIgnoreCase(trimmed, start, prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        UserSuggestion toSuggestion(int slot) {
+            return new UserSuggestion(ids[slot], usernames[slot], fullNames[slot], avatarUrls[slot]);
+        }
+
+        private static void addToken(Set<String> tokens, String value) {
+            if (value != null && !value.isBlank()) {
+                tokens.add(truncate(value.trim().toLowerCase(Locale.ROOT)));
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.eventlinkr.userservice.service;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.eventlinkr.userservice.domain.model.ProviderKey;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.routing.ReadRouting;
+import com.eventlinkr.userservice.utils.SingleFlight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Single-flight database lookups for the hottest user reads: concurrent
+ * lookups of the same key share one query. Calls that joined an in-flight
+ * query are counted in {@code users.lookups.coalesced}. Lookups may be served
+ * by a read replica, except for users recently written on this node.
+ */
+@Component
+public class CoalescingUserLookup {
+
+    private static final String METRIC_NAME = "users.lookups.coalesced";
+
+    private final UserRepository userRepository;
+    private final ReadRouting readRouting;
+    private final SingleFlight<UUID, User> byId;
+    private final SingleFlight<ProviderKey, User> byProvider;
+
+    public CoalescingUserLookup(UserRepository userRepository, ReadRouting readRouting, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.readRouting = readRouting;
+        this.byId = new SingleFlight<>(Counter.builder(METRIC_NAME).tag("lookup", "by-id").register(meterRegistry));
+        this.byProvider = new SingleFlight<>(Counter.builder(METRIC_NAME).tag("lookup", "by-provider").register(meterRegistry));
+    }
+
+    public Mono<User> findById(UUID id) {
+        return byId.execute(id, () -> readRouting.readSticky(id, userRepository.findById(id)));
+    }
+
+    public Mono<User> findByProvider(ProviderKey key) {
+        return byProvider.execute(key, () -> readRouting.readSticky(key, userRepository.findByProviderAndProviderId(key.provider(), key.providerId())));
+    }
+}
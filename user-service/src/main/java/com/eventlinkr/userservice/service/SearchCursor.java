@@ -0,0 +1,59 @@
+package com.eventlinkr.userservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.eventlinkr.userservice.exception.ValidationException;
+import com.eventlinkr.userservice.repository.RankedUser;
+
+/**
+ * Keyset position in the {@code (rank, created_at, id)} ordering used by user
+ * search, exchanged with clients as an opaque URL-safe token. Browsing without
+ * a query always uses rank 0. Tokens that do not decode to a rank tier, an
+ * instant and a UUID are rejected rather than read as some other position.
+ */
+record SearchCursor(Integer rank, Instant createdAt, UUID id) {
+
+    static final SearchCursor FIRST_PAGE = new SearchCursor(null, null, null);
+
+    private static final char SEPARATOR = '|';
+
+    // The lowest relevance tier of UserSearchRepositoryImpl
+    private static final int MAX_RANK = 3;
+
+    static SearchCursor after(RankedUser hit) {
+        return new SearchCursor(hit.rank(), hit.user().getCreatedAt(), hit.user().getId());
+    }
+
+    static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = decoded.indexOf(SEPARATOR);
+            int second = decoded.indexOf(SEPARATOR, first + 1);
+            if (first < 0 || second < 0) {
+                throw new ValidationException("Invalid page token");
+            }
+            int rank = Integer.parseInt(decoded.substring(0, first));
+            String idText = decoded.substring(second + 1);
+            UUID id = UUID.fromString(idText);
+            // UUID.fromString also accepts shortened groups, which a truncated token would decode to
+            if (rank < 0 || rank > MAX_RANK || !id.toString().equals(idText)) {
+                throw new ValidationException("Invalid page token");
+            }
+            return new SearchCursor(rank, Instant.parse(decoded.substring(first + 1, second)), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid page token");
+        }
+    }
+
+    String encode() {
+        String raw = String.valueOf(rank) + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
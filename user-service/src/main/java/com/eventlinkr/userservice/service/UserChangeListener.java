@@ -0,0 +1,21 @@
+package com.eventlinkr.userservice.service;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+/**
+ * Callback for in-process components that mirror user data and must follow
+ * every successful write made through {@link UserService}. Callbacks run on
+ * the thread that completed the write, before the caller sees the result, so
+ * implementations must be fast and non-blocking.
+ */
+public interface UserChangeListener {
+
+    default void onUserCreated(User user) {
+    }
+
+    default void onUserUpdated(User user) {
+    }
+
+    default void onUserDeleted(User user) {
+    }
+}
@@ -1,24 +1,66 @@
 package com.eventlinkr.userservice.service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import com.eventlinkr.userservice.availability.AvailabilityFilter;
+import com.eventlinkr.userservice.cache.UserCache;
 import com.eventlinkr.userservice.domain.dto.CreateUserRequest;
+import com.eventlinkr.userservice.domain.dto.UserChange;
+import com.eventlinkr.userservice.domain.dto.UserImportResult;
+import com.eventlinkr.userservice.domain.dto.UserLookupRequest;
+import com.eventlinkr.userservice.domain.dto.UserLookupResult;
 import com.eventlinkr.userservice.domain.dto.UserProfileUpdateRequest;
+import com.eventlinkr.userservice.domain.dto.UserSearchPage;
+import com.eventlinkr.userservice.domain.dto.UserStats;
+import com.eventlinkr.userservice.domain.dto.UserProjection;
+import com.eventlinkr.userservice.domain.dto.UserSuggestion;
+import com.eventlinkr.userservice.domain.dto.UserVersion;
+import com.eventlinkr.userservice.domain.model.ProviderKey;
 import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.domain.model.UserField;
+import com.eventlinkr.userservice.exception.DomainException;
+import com.eventlinkr.userservice.exception.PreconditionFailedException;
 import com.eventlinkr.userservice.exception.ResourceNotFoundException;
 import com.eventlinkr.userservice.exception.ValidationException;
+import com.eventlinkr.userservice.outbox.UserChangeRelay;
+import com.eventlinkr.userservice.outbox.UserOutbox;
+import com.eventlinkr.userservice.repository.RankedUser;
 import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.routing.ReadRouting;
+import com.eventlinkr.userservice.search.UserSuggestionIndex;
+import com.eventlinkr.userservice.stats.UserStatistics;
 import com.eventlinkr.userservice.utils.LoggingFormat;
 
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.logstash.logback.argument.StructuredArguments;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 @Slf4j
 @Service
@@ -26,133 +68,556 @@ import reactor.core.publisher.Mono;
 public class UserService {
 
     private static final int MAX_QUERY_LENGTH = 255;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final Set<UserField> VERSION_FIELDS = EnumSet.of(UserField.VERSION, UserField.UPDATED_AT);
+    // Expected outcomes (404, 400, 409, 412) are logged by GlobalExceptionHandler at debug; only faults are logged here
+    private static final Predicate<Throwable> UNEXPECTED = error -> !(error instanceof DomainException || error instanceof OptimisticLockingFailureException);
     private final UserRepository userRepository;
+    private final UserSuggestionIndex suggestionIndex;
+    private final UserCache userCache;
+    private final CoalescingUserLookup userLookup;
+    private final AvailabilityFilter availabilityFilter;
+    private final ReadRouting readRouting;
+    private final UserStatistics userStatistics;
+    private final UserOutbox userOutbox;
+    private final UserChangeRelay changeRelay;
+    private final List<UserChangeListener> changeListeners;
+    private final Validator validator;
+
+    @Value("${eventlinkr.batch-import.batch-size:500}")
+    private int importBatchSize;
+
+    @Value("${eventlinkr.export.chunk-size:1000}")
+    private int exportChunkSize;
+
+    @Value("${eventlinkr.lookup.max-keys:500}")
+    private int lookupMaxKeys;
+
+    @Value("${eventlinkr.outbox.stream.chunk-size:500}")
+    private int changesChunkSize;
+
+    @Value("${eventlinkr.outbox.stream.poll-interval:PT1S}")
+    private Duration changesPollInterval;
 
     /**
-     * Creates a new user.
+     * Creates a new user with a single INSERT; status and timestamps come from
+     * column defaults. A taken email, username or provider account is
+     * reported as a validation error rather than a constraint failure.
      */
     public Mono<User> createUser(User user) {
-        return userRepository.existsByEmail(user.getEmail()).flatMap(exists -> {
-            if (exists) {
-                return Mono.error(new ValidationException("Email already exists"));
-            }
-            user.setId(null);
-            user.setCreatedAt(Instant.now());
-            user.setUpdatedAt(Instant.now());
-            user.setStatus(User.UserStatus.PENDING_VERIFICATION);
-            return userRepository.save(user);
-        }).doOnSuccess(savedUser -> log.info(LoggingFormat.INFO_CREATED, "user", savedUser.getId()))
-                .doOnError(error -> log.error(LoggingFormat.ERROR_OPERATION, "creating user", error.getMessage()));
+        return insertNewUser(user).doOnSuccess(savedUser -> log.info(LoggingFormat.INFO_CREATED, "user", savedUser.getId()))
+                .doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_OPERATION, "creating user", error.getMessage()));
     }
 
     /**
      * Creates a user from a CreateUserRequest.
      */
     public Mono<User> createUserFromRequest(CreateUserRequest createUserRequest) {
-        User user = User.builder().id(null).username(createUserRequest.getUsername()).email(createUserRequest.getEmail())
-                .provider(createUserRequest.getProvider()).providerId(createUserRequest.getProviderId()).status(User.UserStatus.PENDING_VERIFICATION)
-                .createdAt(Instant.now()).updatedAt(Instant.now()).build();
+        return insertNewUser(newUser(createUserRequest, null)).doOnSuccess(savedUser -> log.info(LoggingFormat.INFO_CREATED, "user", savedUser.getId()))
+                .doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_OPERATION, "creating user from request", error.getMessage()));
+    }
+
+    /**
+     * Imports a stream of user records. Records are validated as they arrive,
+     * grouped into batches of {@code eventlinkr.batch-import.batch-size} and
+     * written with one multi-row INSERT per batch; only one batch is held in
+     * memory at a time. Emails that already exist or repeat within a batch are
+     * rejected up front. If a batch still hits a constraint (for example a
+     * concurrent sign-up), its rows are retried one by one so that only the
+     * offending records fail. One result is emitted per record, in input
+     * order.
+     */
+    public Flux<UserImportResult> importUsers(Flux<CreateUserRequest> requests) {
+        return requests.index().buffer(importBatchSize).concatMap(this::importBatch, 1)
+                .doOnComplete(() -> log.info(LoggingFormat.INFO_COMPLETED, "user import"))
+                .doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_OPERATION, "importing users", error.getMessage()));
+    }
+
+    /**
+     * Streams users ordered by {@code (updated_at, id)}, optionally filtered by
+     * status and an inclusive {@code updated_at} lower bound, and resumed
+     * after the {@code (afterUpdatedAt, afterId)} watermark of a previous
+     * export. Rows are read in keyset chunks of
+     * {@code eventlinkr.export.chunk-size} with at most one chunk read ahead,
+     * so memory stays bounded by the chunk size whatever the table size and a
+     * slow consumer throttles the reads.
+     */
+    public Flux<User> exportUsers(User.UserStatus status, Instant updatedSince, Instant afterUpdatedAt, UUID afterId) {
+        if ((afterUpdatedAt == null) != (afterId == null)) {
+            return Flux.error(new ValidationException("Export watermark requires both after-updated-at and after-id"));
+        }
+        String statusName = status == null ? null : status.name();
 
-        return userRepository.save(user).doOnSuccess(savedUser -> log.info(LoggingFormat.INFO_CREATED, "user", savedUser.getId()))
-                .doOnError(error -> log.error(LoggingFormat.ERROR_OPERATION, "creating user from request", error.getMessage()));
+        return Flux.defer(() -> {
+            AtomicReference<User> watermark = new AtomicReference<>();
+            return Mono.defer(() -> {
+                User last = watermark.get();
+                return userRepository.findForExport(statusName, updatedSince, last == null ? afterUpdatedAt : last.getUpdatedAt(),
+                        last == null ? afterId : last.getId(), exportChunkSize).collectList();
+            }).repeat().takeUntil(chunk -> chunk.size() < exportChunkSize).doOnNext(chunk -> {
+                if (!chunk.isEmpty()) {
+                    watermark.set(chunk.get(chunk.size() - 1));
+                }
+            }).flatMapIterable(Function.identity(), 1);
+        }).transform(readRouting::read).doOnComplete(() -> log.info(LoggingFormat.INFO_COMPLETED, "user export"))
+                .doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_OPERATION, "exporting users", error.getMessage()));
     }
 
     /**
-     * Gets a user by their ID.
+     * Streams user changes with an offset greater than {@code afterOffset},
+     * oldest first and without end: relayed changes are read from the outbox
+     * in chunks of {@code eventlinkr.outbox.stream.chunk-size}, and once
+     * caught up the stream waits for this node's relay to publish more or for
+     * {@code eventlinkr.outbox.stream.poll-interval}, whichever comes first,
+     * before reading again. A consumer resumes after a disconnect by passing
+     * the offset of the last change it processed.
+     */
+    public Flux<UserChange> streamChanges(long afterOffset) {
+        if (afterOffset < 0) {
+            return Flux.error(new ValidationException("Change offset must not be negative"));
+        }
+        return Flux.defer(() -> {
+            AtomicLong watermark = new AtomicLong(afterOffset);
+            Mono<List<UserChange>> chunk = Mono.defer(() -> userRepository.findRelayedChanges(watermark.get(), changesChunkSize).collectList())
+                    .doOnNext(changes -> {
+                        if (!changes.isEmpty()) {
+                            watermark.set(changes.get(changes.size() - 1).offset());
+                        }
+                    });
+            return chunk.expand(changes -> changes.size() < changesChunkSize ? changeRelay.awaitRelayed(changesPollInterval).then(chunk) : chunk)
+                    .flatMapIterable(Function.identity(), 1);
+        }).doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_OPERATION, "streaming user changes", error.getMessage()));
+    }
+
+    /**
+     * Gets a user by their ID, served from the user cache when possible.
+     * Concurrent misses for the same ID share a single query.
      */
     public Mono<User> getUserById(String id) {
-        return userRepository.findById(UUID.fromString(id)).switchIfEmpty(Mono.error(new ResourceNotFoundException("User", id)))
-                .doOnSuccess(user -> log.info(LoggingFormat.INFO_RETRIEVED, "user", id))
-                .doOnError(error -> log.error(LoggingFormat.ERROR_WITH_ID, "retrieving user", id, error.getMessage()));
+        return userCache.getById(UUID.fromString(id), userLookup::findById).switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User", id)))
+                .doOnSuccess(user -> log.debug(LoggingFormat.DEBUG_RETRIEVED, "user", id))
+                .doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_WITH_ID, "retrieving user", id, error.getMessage()));
+    }
+
+    /**
+     * Gets only the selected fields of a user. With the user cache enabled
+     * they are taken from the cached user, so a hit still costs no query;
+     * without it only the selected columns are read.
+     */
+    public Mono<UserProjection> getUserById(String id, Set<UserField> fields) {
+        UUID userId = UUID.fromString(id);
+        Mono<User> user = userCache.isEnabled() ? userCache.getById(userId, userLookup::findById)
+                : readRouting.readSticky(userId, userRepository.findProjectedById(userId, fields));
+        return user.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User", id))).map(found -> new UserProjection(found, fields))
+                .doOnSuccess(projection -> log.debug(LoggingFormat.DEBUG_RETRIEVED, "user", id))
+                .doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_WITH_ID, "retrieving user", id, error.getMessage()));
     }
 
     /**
-     * Updates a user's profile using UserProfileUpdateRequest.
+     * Looks up only what a user's ETag is made of, for conditional requests.
+     * A cached user answers without a query; otherwise just the version and
+     * updated_at columns are read, and nothing is serialized either way.
+     */
+    public Mono<UserVersion> getUserVersion(String id) {
+        UUID userId = UUID.fromString(id);
+        Mono<User> user = userCache.isEnabled() ? userCache.getById(userId, userLookup::findById)
+                : readRouting.readSticky(userId, userRepository.findProjectedById(userId, VERSION_FIELDS));
+        return user.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User", id))).map(UserVersion::of);
+    }
+
+    /**
+     * Replaces a user's profile fields with those of the request, clearing the
+     * optional ones it leaves out; username and email are only changed when
+     * given. Runs as a single UPDATE ... RETURNING.
      */
     public Mono<User> updateUserProfile(String id, UserProfileUpdateRequest updateRequest) {
-        return userRepository.findById(UUID.fromString(id)).switchIfEmpty(Mono.error(new ResourceNotFoundException("User", id))).flatMap(existingUser -> {
-            existingUser.setUsername(updateRequest.getUsername());
-            existingUser.setFullName(updateRequest.getDisplayName());
-            existingUser.setBio(updateRequest.getBio());
-            existingUser.setAvatarUrl(updateRequest.getAvatarUrl());
-            existingUser.setUpdatedAt(Instant.now());
-            return userRepository.save(existingUser);
-        }).doOnSuccess(user -> log.info(LoggingFormat.INFO_UPDATED, "user profile", id))
-                .doOnError(error -> log.error(LoggingFormat.ERROR_WITH_ID, "updating user profile", id, error.getMessage()));
+        return replaceProfile(id, updateRequest, updateRequest.getVersion());
+    }
+
+    /**
+     * Replaces a user's profile like {@link #updateUserProfile(String,
+     * UserProfileUpdateRequest)}, but only if the stored user still matches
+     * the {@code If-Match} header. The header takes the place of the version
+     * in the request: the update is conditional on the version read here, so
+     * a write landing in between is rejected too rather than overwritten.
+     */
+    public Mono<User> updateUserProfile(String id, UserProfileUpdateRequest updateRequest, String ifMatch) {
+        UUID userId = UUID.fromString(id);
+        // Read from the database rather than the cache, a stale copy must not let a stale write through
+        return userRepository.findProjectedById(userId, VERSION_FIELDS).switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User", id)))
+                .map(UserVersion::of).flatMap(current -> {
+                    if (!current.matchesAnyRepresentation(ifMatch)) {
+                        return Mono.error(new PreconditionFailedException("User " + id + " does not match " + ifMatch));
+                    }
+                    return replaceProfile(id, updateRequest, current.version()).onErrorMap(OptimisticLockingFailureException.class,
+                            error -> new PreconditionFailedException("User " + id + " was modified concurrently"));
+                });
+    }
+
+    private Mono<User> replaceProfile(String id, UserProfileUpdateRequest updateRequest, Long expectedVersion) {
+        return updateProfile(id, updateRequest, false, expectedVersion).doOnSuccess(user -> log.info(LoggingFormat.INFO_UPDATED, "user profile", id))
+                .doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_WITH_ID, "updating user profile", id, error.getMessage()));
+    }
+
+    /**
+     * Applies only the profile fields present in the request with a single
+     * UPDATE ... RETURNING. When the request carries a version, concurrent
+     * modification since that version is rejected instead of overwritten.
+     */
+    public Mono<User> patchUserProfile(String id, UserProfileUpdateRequest updateRequest) {
+        return updateProfile(id, updateRequest, true, updateRequest.getVersion()).doOnSuccess(user -> log.info(LoggingFormat.INFO_UPDATED, "user profile", id))
+                .doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_WITH_ID, "patching user profile", id, error.getMessage()));
     }
 
     /**
      * Deletes a user by their ID.
      */
     public Mono<Void> deleteUser(String id) {
-        UUID userId = UUID.fromString(id); // Avoid redundant parsing
-        return userRepository.existsById(userId).flatMap(exists -> exists.booleanValue() // Explicit primitive usage
-                ? userRepository.deleteById(userId)
-                : Mono.error(new ResourceNotFoundException("User", id))).doOnSuccess(ignored -> log.info(LoggingFormat.INFO_DELETED, "user", id))
-                .doOnError(error -> log.error(LoggingFormat.ERROR_WITH_ID, "deleting user", id, error.getMessage()));
+        return userRepository.findById(UUID.fromString(id)).switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User", id)))
+                .flatMap(user -> userOutbox.write(UserChange.Type.DELETED, userRepository.delete(user).thenReturn(user)))
+                .doOnNext(user -> notifyListeners(UserChangeListener::onUserDeleted, user)).then()
+                .doOnSuccess(ignored -> log.info(LoggingFormat.INFO_DELETED, "user", id))
+                .doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_WITH_ID, "deleting user", id, error.getMessage()));
+    }
+
+    /**
+     * Resolves many users at once: one query for all the ids and one for all
+     * the provider keys, whatever their number, instead of one request per
+     * user. Repeated keys are looked up and returned once.
+     */
+    public Mono<UserLookupResult<User>> lookupUsers(UserLookupRequest lookupRequest) {
+        return lookup(lookupRequest, null, Function.identity());
+    }
+
+    /**
+     * Same lookup, reading and returning only the selected fields of each
+     * user.
+     */
+    public Mono<UserLookupResult<UserProjection>> lookupUsers(UserLookupRequest lookupRequest, Set<UserField> fields) {
+        return lookup(lookupRequest, fields, user -> new UserProjection(user, fields));
+    }
+
+    private <T> Mono<UserLookupResult<T>> lookup(UserLookupRequest lookupRequest, Set<UserField> fields, Function<User, T> toContent) {
+        List<UUID> ids = distinct(lookupRequest.getIds());
+        List<ProviderKey> providerKeys = distinct(lookupRequest.getProviders());
+        if (ids.isEmpty() && providerKeys.isEmpty()) {
+            return Mono.error(new ValidationException("At least one id or provider key is required"));
+        }
+        if (ids.size() + providerKeys.size() > lookupMaxKeys) {
+            return Mono.error(new ValidationException("At most " + lookupMaxKeys + " ids and provider keys can be looked up at once"));
+        }
+
+        Mono<Map<UUID, User>> byId = userRepository.findAllByIds(ids, fields).collectMap(User::getId);
+        Mono<Map<ProviderKey, User>> byProviderKey = userRepository.findAllByProviderKeys(providerKeys, fields)
+                .collectMap(user -> new ProviderKey(user.getProvider(), user.getProviderId()));
+        List<Object> keys = new ArrayList<>(ids);
+        keys.addAll(providerKeys);
+        return readRouting.readSticky(keys, Mono.zip(byId, byProviderKey)).map(found -> {
+            List<T> users = new ArrayList<>(found.getT1().size() + found.getT2().size());
+            List<UUID> missingIds = new ArrayList<>();
+            List<ProviderKey> missingProviders = new ArrayList<>();
+            collectInOrder(ids, found.getT1(), toContent, users, missingIds);
+            collectInOrder(providerKeys, found.getT2(), toContent, users, missingProviders);
+            return new UserLookupResult<>(users, missingIds, missingProviders);
+        }).doOnSuccess(result -> log.debug(LoggingFormat.DEBUG_LOOKED_UP, result.users().size(),
+                result.missingIds().size() + result.missingProviders().size()));
+    }
+
+    private static <K> List<K> distinct(List<K> keys) {
+        return keys == null ? List.of() : keys.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    private static <K, T> void collectInOrder(List<K> keys, Map<K, User> found, Function<User, T> toContent, List<T> users, List<K> missing) {
+        for (K key : keys) {
+            User user = found.get(key);
+            if (user != null) {
+                users.add(toContent.apply(user));
+            } else {
+                missing.add(key);
+            }
+        }
+    }
+
+    /**
+     * Searches users with keyset pagination. A non-blank query is matched by
+     * the indexed search repository and ordered by relevance, then recency;
+     * a blank query pages through all users on (created_at, id). Only one page
+     * (plus a single look-ahead row) is read from the database and the total
+     * is counted in parallel only when requested.
+     */
+    public Mono<UserSearchPage<User>> searchUsers(String query, String pageToken, int size, boolean includeTotal) {
+        return search(query, pageToken, size, includeTotal, null, RankedUser::user);
+    }
+
+    /**
+     * Same search, reading and returning only the selected fields of each
+     * user.
+     */
+    public Mono<UserSearchPage<UserProjection>> searchUsers(String query, String pageToken, int size, boolean includeTotal, Set<UserField> fields) {
+        return search(query, pageToken, size, includeTotal, fields, hit -> new UserProjection(hit.user(), fields));
     }
 
     /**
-     * Searches users with pagination.
+     * Runs a search for all columns when {@code fields} is null, otherwise
+     * for the selected ones, and maps each hit with {@code toContent}.
      */
-    public Mono<PageImpl<User>> searchUsers(String query, Pageable pageable) {
+    private <T> Mono<UserSearchPage<T>> search(String query, String pageToken, int size, boolean includeTotal, Set<UserField> fields,
+            Function<RankedUser, T> toContent) {
+        SearchCursor cursor;
         try {
-            validateSearchParameters(query, pageable);
-        } catch (IllegalArgumentException e) {
-            return Mono.error(new ValidationException(e.getMessage()));
+            validateSearchParameters(query, size);
+            cursor = SearchCursor.decode(pageToken);
+        } catch (ValidationException e) {
+            return Mono.error(e);
         }
 
-        String sanitizedQuery = query != null ? query.trim() : "";
+        String term = query != null && !query.isBlank() ? query.trim() : null;
 
-        Flux<User> searchResults = sanitizedQuery.isEmpty() ? userRepository.findAll() : userRepository.searchUsers(sanitizedQuery, pageable);
+        Flux<RankedUser> hits;
+        if (term == null) {
+            hits = (fields == null ? userRepository.findNewestFirst(cursor.createdAt(), cursor.id(), size + 1)
+                    : userRepository.findProjectedNewestFirst(cursor.createdAt(), cursor.id(), size + 1, fields)).map(user -> new RankedUser(user, 0));
+        } else {
+            hits = fields == null ? userRepository.searchUsers(term, cursor.rank(), cursor.createdAt(), cursor.id(), size + 1)
+                    : userRepository.searchUsers(term, cursor.rank(), cursor.createdAt(), cursor.id(), size + 1, fields);
+        }
+        Mono<Optional<Long>> total = includeTotal ? userRepository.countSearchResults(term).map(Optional::of) : Mono.just(Optional.empty());
 
-        return searchResults.collectList()
-                .map(users -> new PageImpl<>(
-                        users.subList((int) pageable.getOffset(), Math.min((int) pageable.getOffset() + pageable.getPageSize(), users.size())), pageable,
-                        users.size()))
-                .doOnSuccess(page -> log.debug(LoggingFormat.DEBUG_FOUND, page.getTotalElements(), "user search"))
-                .doOnError(error -> log.error(LoggingFormat.ERROR_OPERATION, "searching users", error.getMessage()));
+        return readRouting.read(Mono.zip(hits.collectList(), total)).map(result -> toSearchPage(result.getT1(), size, result.getT2().orElse(null), toContent))
+                .doOnSuccess(page -> log.debug(LoggingFormat.DEBUG_FOUND, page.getContent().size(), "user search"))
+                .doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_OPERATION, "searching users", error.getMessage()));
     }
 
     /**
-     * Finds a user by their Provider and Provider ID.
+     * Finds a user by their Provider and Provider ID. Concurrent misses for
+     * the same key share a single query.
      */
     public Mono<User> getUserByProviderAndProviderId(String provider, String providerId) {
-        return userRepository.findByProviderAndProviderId(provider, providerId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException(String.format("User with provider %s and providerId %s", provider, providerId))))
-                .doOnSuccess(user -> log.debug(LoggingFormat.DEBUG_FOUND, "user", String.format("provider: %s, providerId: %s", provider, providerId)))
-                .doOnError(error -> log.error(LoggingFormat.ERROR_OPERATION,
-                        String.format("finding user by provider: %s and providerId: %s", provider, providerId), error.getMessage()));
+        return userCache.getByProvider(new ProviderKey(provider, providerId), userLookup::findByProvider)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User with provider " + provider + " and providerId " + providerId)))
+                .doOnSuccess(user -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug(LoggingFormat.DEBUG_FOUND_BY_PROVIDER, StructuredArguments.kv("provider", provider),
+                                StructuredArguments.kv("providerId", providerId));
+                    }
+                }).doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_FINDING_BY_PROVIDER, StructuredArguments.kv("provider", provider),
+                        StructuredArguments.kv("providerId", providerId), error.getMessage()));
+    }
+
+    /**
+     * Finds the selected fields of a user by their Provider and Provider ID,
+     * served like {@link #getUserById(String, Set)}.
+     */
+    public Mono<UserProjection> getUserByProviderAndProviderId(String provider, String providerId, Set<UserField> fields) {
+        ProviderKey providerKey = new ProviderKey(provider, providerId);
+        Mono<User> user = userCache.isEnabled() ? userCache.getByProvider(providerKey, userLookup::findByProvider)
+                : readRouting.readSticky(providerKey, userRepository.findProjectedByProvider(provider, providerId, fields));
+        return user.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User with provider " + provider + " and providerId " + providerId)))
+                .map(found -> new UserProjection(found, fields)).doOnError(UNEXPECTED, error -> log.error(LoggingFormat.ERROR_FINDING_BY_PROVIDER,
+                        StructuredArguments.kv("provider", provider), StructuredArguments.kv("providerId", providerId), error.getMessage()));
     }
 
     /**
-     * Validates if an email is available.
+     * Suggests users whose username, email or full-name word starts with the
+     * given prefix, answered from the in-memory suggestion index.
+     */
+    public Mono<List<UserSuggestion>> suggestUsers(String prefix, int limit) {
+        if (limit <= 0 || limit > MAX_SUGGESTIONS) {
+            return Mono.error(new ValidationException("Suggestion limit must be between 1 and " + MAX_SUGGESTIONS));
+        }
+        return Mono.fromSupplier(() -> suggestionIndex.suggest(prefix, limit));
+    }
+
+    /**
+     * Returns the rolling user statistics, answered from memory.
+     */
+    public Mono<UserStats> getUserStats() {
+        return Mono.fromSupplier(userStatistics::snapshot);
+    }
+
+    /**
+     * Validates if an email is available. Emails the availability filter has
+     * never seen are answered without a query.
      */
     public Mono<Boolean> isEmailAvailable(String email) {
-        return userRepository.existsByEmail(email).map(exists -> !exists).doOnSuccess(
-                available -> log.debug(LoggingFormat.DEBUG_PROCESSING, String.format("email availability check for %s: %s", email, available), ""));
+        Mono<Boolean> lookup = Mono.defer(() -> availabilityFilter.mightContainEmail(email)
+                ? readRouting.read(userRepository.existsByEmail(email)).map(exists -> !exists)
+                : Mono.just(true));
+        return lookup.doOnSuccess(available -> logAvailability("email", email, available));
     }
 
     /**
-     * Validates if a username is available.
+     * Validates if a username is available. Usernames the availability filter
+     * has never seen are answered without a query.
      */
     public Mono<Boolean> isUsernameAvailable(String username) {
-        return userRepository.existsByUsername(username).map(exists -> !exists).doOnSuccess(
-                available -> log.debug(LoggingFormat.DEBUG_PROCESSING, String.format("username availability check for %s: %s", username, available), ""));
+        Mono<Boolean> lookup = Mono.defer(() -> availabilityFilter.mightContainUsername(username)
+                ? readRouting.read(userRepository.existsByUsername(username)).map(exists -> !exists)
+                : Mono.just(true));
+        return lookup.doOnSuccess(available -> logAvailability("username", username, available));
+    }
+
+    private static void logAvailability(String key, String value, Boolean available) {
+        if (log.isDebugEnabled()) {
+            log.debug(LoggingFormat.DEBUG_AVAILABILITY, StructuredArguments.kv(key, value), StructuredArguments.kv("available", available));
+        }
+    }
+
+    private Flux<UserImportResult> importBatch(List<Tuple2<Long, CreateUserRequest>> batch) {
+        UserImportResult[] results = new UserImportResult[batch.size()];
+        Map<String, Integer> positionsByEmail = new HashMap<>();
+        for (int position = 0; position < batch.size(); position++) {
+            long index = batch.get(position).getT1();
+            CreateUserRequest request = batch.get(position).getT2();
+            List<String> errors = validator.validate(request).stream().map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted().toList();
+            if (!errors.isEmpty()) {
+                results[position] = UserImportResult.failed(index, errors);
+            } else if (positionsByEmail.putIfAbsent(request.getEmail(), position) != null) {
+                results[position] = UserImportResult.failed(index, List.of("Email duplicated in batch"));
+            }
+        }
+        if (positionsByEmail.isEmpty()) {
+            return Flux.fromArray(results);
+        }
+
+        return userRepository.findExistingEmails(positionsByEmail.keySet()).doOnNext(email -> {
+            int position = positionsByEmail.remove(email);
+            results[position] = UserImportResult.failed(batch.get(position).getT1(), List.of("Email already exists"));
+        }).then(Mono.defer(() -> {
+            Map<Integer, User> pending = new TreeMap<>();
+            positionsByEmail.values().forEach(position -> pending.put(position, newUser(batch.get(position).getT2(), UUID.randomUUID())));
+            return insertImported(pending, batch, results);
+        })).thenMany(Flux.defer(() -> Flux.fromArray(results)));
+    }
+
+    private Mono<Void> insertImported(Map<Integer, User> pending, List<Tuple2<Long, CreateUserRequest>> batch, UserImportResult[] results) {
+        if (pending.isEmpty()) {
+            return Mono.empty();
+        }
+        return insertAll(List.copyOf(pending.values()))
+                .doOnSuccess(inserted -> pending.forEach((position, user) -> recordImported(position, user, batch, results)))
+                .onErrorResume(DataIntegrityViolationException.class,
+                        batchError -> Flux.fromIterable(pending.entrySet())
+                                .concatMap(entry -> insertAll(List.of(entry.getValue()))
+                                        .doOnSuccess(inserted -> recordImported(entry.getKey(), entry.getValue(), batch, results))
+                                        .onErrorResume(DataIntegrityViolationException.class, rowError -> {
+                                            results[entry.getKey()] = UserImportResult.failed(batch.get(entry.getKey()).getT1(),
+                                                    List.of("User already exists"));
+                                            return Mono.empty();
+                                        }))
+                                .then(Mono.empty()))
+                .then();
+    }
+
+    private Mono<Void> insertAll(List<User> users) {
+        return userOutbox.writeAll(UserChange.Type.CREATED, userRepository.insertAll(users).thenMany(Flux.fromIterable(users))).then();
+    }
+
+    private Mono<User> insertNewUser(User user) {
+        user.setId(null);
+        return userOutbox.write(UserChange.Type.CREATED, userRepository.insertIfAbsent(user))
+                .switchIfEmpty(Mono.defer(() -> userRepository.findTakenKeys(user).flatMap(keys -> Mono.error(takenKeysError(keys)))))
+                .doOnNext(savedUser -> notifyListeners(UserChangeListener::onUserCreated, savedUser));
+    }
+
+    private Mono<User> updateProfile(String id, UserProfileUpdateRequest updateRequest, boolean partial, Long expectedVersion) {
+        UUID userId = UUID.fromString(id);
+        Map<String, String> columns = new LinkedHashMap<>();
+        putColumn(columns, "username", updateRequest.getUsername(), true);
+        putColumn(columns, "email", updateRequest.getEmail(), true);
+        putColumn(columns, "full_name", updateRequest.getDisplayName(), partial);
+        putColumn(columns, "bio", updateRequest.getBio(), partial);
+        putColumn(columns, "avatar_url", updateRequest.getAvatarUrl(), partial);
+        putColumn(columns, "headline", updateRequest.getHeadline(), partial);
+        putColumn(columns, "profile_link", updateRequest.getProfileLink(), partial);
+        if (columns.isEmpty()) {
+            return Mono.error(new ValidationException("No profile fields to update"));
+        }
+
+        return userOutbox.write(UserChange.Type.UPDATED, userRepository.updateProfile(userId, columns, expectedVersion))
+                .switchIfEmpty(Mono.defer(() -> userRepository.existsById(userId).flatMap(exists -> Mono.error(exists
+                        ? new OptimisticLockingFailureException("User " + id + " was modified since version " + expectedVersion)
+                        : new ResourceNotFoundException("User", id)))))
+                .onErrorResume(DuplicateKeyException.class, error -> {
+                    User candidate = User.builder().id(userId).username(updateRequest.getUsername()).email(updateRequest.getEmail()).build();
+                    return userRepository.findTakenKeys(candidate).flatMap(keys -> Mono.error(takenKeysError(keys)));
+                }).doOnNext(user -> notifyListeners(UserChangeListener::onUserUpdated, user));
+    }
+
+    private static void putColumn(Map<String, String> columns, String column, String value, boolean skipNull) {
+        if (value != null || !skipNull) {
+            columns.put(column, value);
+        }
+    }
+
+    private static ValidationException takenKeysError(Set<String> keys) {
+        List<String> errors = new ArrayList<>();
+        if (keys.contains("email")) {
+            errors.add("Email already exists");
+        }
+        if (keys.contains("username")) {
+            errors.add("Username already exists");
+        }
+        if (keys.contains("provider")) {
+            errors.add("Provider account already registered");
+        }
+        // The conflicting row can be deleted again before the keys are looked up
+        return errors.isEmpty() ? new ValidationException("User already exists") : new ValidationException(errors);
+    }
+
+    private void recordImported(int position, User user, List<Tuple2<Long, CreateUserRequest>> batch, UserImportResult[] results) {
+        results[position] = UserImportResult.created(batch.get(position).getT1(), user.getId());
+        notifyListeners(UserChangeListener::onUserCreated, user);
     }
 
     /**
-     * Validates search parameters for user queries.
+     * Maps a creation request to a new pending user. A null id lets the
+     * repository assign one on save; bulk inserts assign their own. The
+     * version is the column default, so that bulk-inserted users and their
+     * recorded changes carry the version they are stored with.
+     */
+    private static User newUser(CreateUserRequest request, UUID id) {
+        Instant now = Instant.now();
+        return User.builder().id(id).username(request.getUsername()).email(request.getEmail()).fullName(request.getFullName()).bio(request.getBio())
+                .avatarUrl(request.getAvatarUrl()).provider(request.getProvider()).providerId(request.getProviderId())
+                .status(User.UserStatus.PENDING_VERIFICATION).version(0L).createdAt(now).updatedAt(now).build();
+    }
+
+    /**
+     * Forwards a successful write to every registered change listener. A
+     * failing listener is logged and never fails the write itself.
      */
-    private void validateSearchParameters(String query, Pageable pageable) {
-        if (pageable == null) {
-            throw new ValidationException("Pageable parameter cannot be null");
+    private void notifyListeners(BiConsumer<UserChangeListener, User> callback, User user) {
+        for (UserChangeListener listener : changeListeners) {
+            try {
+                callback.accept(listener, user);
+            } catch (RuntimeException e) {
+                log.error(LoggingFormat.ERROR_WITH_ID, "notifying " + listener.getClass().getSimpleName(), user.getId(), e.getMessage());
+            }
         }
-        if (pageable.getPageSize() <= 0) {
+    }
+
+    /**
+     * Builds a search page from up to {@code size + 1} hits; the extra hit only
+     * signals that another page exists.
+     */
+    private <T> UserSearchPage<T> toSearchPage(List<RankedUser> hits, int size, Long total, Function<RankedUser, T> toContent) {
+        List<T> content = hits.stream().limit(size).map(toContent).toList();
+        String nextPageToken = hits.size() > size ? SearchCursor.after(hits.get(size - 1)).encode() : null;
+        return new UserSearchPage<>(content, size, nextPageToken, total);
+    }
+
+    /**
+     * Validates search parameters for user queries.
+     */
+    private void validateSearchParameters(String query, int size) {
+        if (size <= 0) {
             throw new ValidationException("Page size must be greater than 0");
         }
-        if (pageable.getPageNumber() < 0) {
-            throw new ValidationException("Page number cannot be negative");
+        if (size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size cannot exceed " + MAX_PAGE_SIZE);
         }
         if (query != null && query.trim().length() > MAX_QUERY_LENGTH) {
             throw new ValidationException("Search query exceeds maximum length");
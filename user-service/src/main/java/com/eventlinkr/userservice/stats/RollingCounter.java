@@ -0,0 +1,65 @@
+package com.eventlinkr.userservice.stats;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Event counts in a ring of epoch-aligned time slots covering the last
+ * {@code slots} slots up to and including the current one. A slot is recycled
+ * the first time it is written after falling out of the window, so the ring
+ * never needs a background sweep. Timestamps ahead of the clock count in the
+ * current slot; those older than the window are ignored.
+ */
+final class RollingCounter {
+
+    private final long slotMillis;
+    private final long[] slotNumbers;
+    private final long[] counts;
+
+    RollingCounter(Duration slotWidth, int slots) {
+        this.slotMillis = slotWidth.toMillis();
+        this.slotNumbers = new long[slots];
+        this.counts = new long[slots];
+        Arrays.fill(slotNumbers, Long.MIN_VALUE);
+    }
+
+    synchronized void add(Instant at, long delta, Instant now) {
+        long current = slotNumber(now);
+        long slot = Math.min(slotNumber(at), current);
+        if (slot <= current - counts.length) {
+            return;
+        }
+        int position = (int) Math.floorMod(slot, (long) counts.length);
+        if (slotNumbers[position] != slot) {
+            slotNumbers[position] = slot;
+            counts[position] = 0;
+        }
+        counts[position] += delta;
+    }
+
+    /**
+     * Counts per slot, oldest first; the last one is the slot holding
+     * {@code now}.
+     */
+    synchronized long[] snapshot(Instant now) {
+        long first = slotNumber(now) - counts.length + 1;
+        long[] snapshot = new long[counts.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            int position = (int) Math.floorMod(first + i, (long) counts.length);
+            snapshot[i] = slotNumbers[position] == first + i ? counts[position] : 0;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Start of the oldest slot still in the window at {@code now}.
+     */
+    Instant windowStart(Instant now) {
+        return Instant.ofEpochMilli((slotNumber(now) - counts.length + 1) * slotMillis);
+    }
+
+    private long slotNumber(Instant at) {
+        return Math.floorDiv(at.toEpochMilli(), slotMillis);
+    }
+}
@@ -0,0 +1,246 @@
+package com.eventlinkr.userservice.stats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.eventlinkr.userservice.domain.dto.UserStats;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.routing.ReadRouting;
+import com.eventlinkr.userservice.service.UserChangeListener;
+import com.eventlinkr.userservice.utils.LoggingFormat;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory user statistics, so that dashboards polling them cost no query:
+ * users created per hour over the last 24 hours, and per UTC day of the last
+ * 7 the users of each status whose last change fell on that day.
+ * <p>
+ * Every write through {@code UserService} and every reaped user adjusts the
+ * counts as it happens. Each counted user is remembered with the status and
+ * day it is counted under, so an update moves the user there instead of
+ * counting it again. Writes made on other nodes are not seen at all, so the
+ * counts are rebuilt from the database once the application is ready and
+ * every {@code reconcile-interval} afterwards. Both rebuild queries are plain
+ * range reads on the {@code created_at} and {@code updated_at} indexes,
+ * portable across H2 and PostgreSQL. Writes that land while a rebuild is
+ * streaming are applied to both the old and new counts, and win over the
+ * rows the rebuild reads for the same users.
+ */
+@Slf4j
+@Component
+public class UserStatistics implements UserChangeListener {
+
+    static final int HOURS = 24;
+    static final int DAYS = 7;
+
+    private final UserRepository userRepository;
+    private final ReadRouting readRouting;
+    private final Clock clock;
+    private final AtomicBoolean reconcileInProgress = new AtomicBoolean();
+
+    private volatile Counters current = new Counters();
+    private volatile Counters rebuilding;
+    private volatile Instant reconciledAt;
+
+    @Autowired
+    public UserStatistics(UserRepository userRepository, ReadRouting readRouting) {
+        this(userRepository, readRouting, Clock.systemUTC());
+    }
+
+    UserStatistics(UserRepository userRepository, ReadRouting readRouting, Clock clock) {
+        this.userRepository = userRepository;
+        this.readRouting = readRouting;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile().subscribe(stats -> log.info("User statistics reconciled at {}", stats.reconciledAt()),
+                error -> log.error(LoggingFormat.ERROR_OPERATION, "reconciling user statistics", error.getMessage()));
+    }
+
+    @Scheduled(initialDelayString = "${eventlinkr.stats.reconcile-interval:PT5M}", fixedDelayString = "${eventlinkr.stats.reconcile-interval:PT5M}")
+    public void scheduledReconcile() {
+        if (!reconcileInProgress.get()) {
+            load();
+        }
+    }
+
+    /**
+     * Recounts the current windows from the database and swaps the result in.
+     * A rebuild already in progress is not started again.
+     */
+    public Mono<UserStats> reconcile() {
+        if (!reconcileInProgress.compareAndSet(false, true)) {
+            return Mono.fromSupplier(this::snapshot);
+        }
+        return Mono.defer(() -> {
+            Instant now = clock.instant();
+            Counters next = new Counters();
+            rebuilding = next;
+            return readRouting.read(userRepository.findCreatedAtSince(next.created.windowStart(now)))
+                    .doOnNext(createdAt -> next.created.add(createdAt, 1, now))
+                    .thenMany(readRouting.read(userRepository.findStatusUpdatesSince(next.windowStart(now))))
+                    .doOnNext(update -> next.placeIfAbsent(update.id(), update.status(), update.updatedAt(), now)).then(Mono.fromRunnable(() -> {
+                        current = next;
+                        reconciledAt = now;
+                    }));
+        }).then(Mono.fromSupplier(this::snapshot)).doFinally(signal -> {
+            rebuilding = null;
+            reconcileInProgress.set(false);
+        });
+    }
+
+    public UserStats snapshot() {
+        Instant now = clock.instant();
+        Counters counters = current;
+
+        long[] created = counters.created.snapshot(now);
+        Instant firstHour = counters.created.windowStart(now);
+        List<UserStats.HourCount> createdPerHour = new ArrayList<>(HOURS);
+        long createdTotal = 0;
+        for (int i = 0; i < HOURS; i++) {
+            long count = Math.max(created[i], 0);
+            createdPerHour.add(new UserStats.HourCount(firstHour.plus(Duration.ofHours(i)), count));
+            createdTotal += count;
+        }
+
+        LocalDate firstDay = LocalDate.ofInstant(counters.windowStart(now), ZoneOffset.UTC);
+        List<Map<User.UserStatus, Long>> perDay = new ArrayList<>(DAYS);
+        for (int i = 0; i < DAYS; i++) {
+            perDay.add(new EnumMap<>(User.UserStatus.class));
+        }
+        Map<User.UserStatus, Long> lastWeek = new EnumMap<>(User.UserStatus.class);
+        counters.byStatus.forEach((status, counter) -> {
+            long[] days = counter.snapshot(now);
+            long total = 0;
+            for (int i = 0; i < DAYS; i++) {
+                long count = Math.max(days[i], 0);
+                perDay.get(i).put(status, count);
+                total += count;
+            }
+            lastWeek.put(status, total);
+        });
+        List<UserStats.DayCounts> statusPerDay = new ArrayList<>(DAYS);
+        for (int i = 0; i < DAYS; i++) {
+            statusPerDay.add(new UserStats.DayCounts(firstDay.plusDays(i), perDay.get(i)));
+        }
+        return new UserStats(now, reconciledAt, createdTotal, createdPerHour, lastWeek, statusPerDay);
+    }
+
+    @Override
+    public void onUserCreated(User user) {
+        Instant now = clock.instant();
+        apply(counters -> {
+            counters.addCreated(user, 1, now);
+            counters.place(user, now);
+        });
+    }
+
+    @Override
+    public void onUserUpdated(User user) {
+        Instant now = clock.instant();
+        apply(counters -> counters.place(user, now));
+    }
+
+    @Override
+    public void onUserDeleted(User user) {
+        Instant now = clock.instant();
+        apply(counters -> {
+            counters.addCreated(user, -1, now);
+            counters.remove(user, now);
+        });
+    }
+
+    private void apply(Consumer<Counters> change) {
+        Counters next = rebuilding;
+        if (next != null) {
+            change.accept(next);
+        }
+        change.accept(current);
+    }
+
+    private static final class Counters {
+
+        final RollingCounter created = new RollingCounter(Duration.ofHours(1), HOURS);
+        final Map<User.UserStatus, RollingCounter> byStatus = new EnumMap<>(User.UserStatus.class);
+        // Where each counted user is counted, so that later writes move it rather than count it again
+        final Map<UUID, Placement> placements = new ConcurrentHashMap<>();
+
+        Counters() {
+            for (User.UserStatus status : User.UserStatus.values()) {
+                byStatus.put(status, new RollingCounter(Duration.ofDays(1), DAYS));
+            }
+        }
+
+        RollingCounter status(User.UserStatus status) {
+            return byStatus.get(status);
+        }
+
+        Instant windowStart(Instant now) {
+            return byStatus.get(User.UserStatus.ACTIVE).windowStart(now);
+        }
+
+        void addCreated(User user, long delta, Instant now) {
+            if (user.getCreatedAt() != null) {
+                created.add(user.getCreatedAt(), delta, now);
+            }
+        }
+
+        void place(User user, Instant now) {
+            if (user.getId() == null || user.getStatus() == null || user.getUpdatedAt() == null) {
+                return;
+            }
+            Placement placement = new Placement(user.getStatus(), user.getUpdatedAt());
+            Placement previous = placements.put(user.getId(), placement);
+            if (previous != null) {
+                previous.add(this, -1, now);
+            }
+            placement.add(this, 1, now);
+        }
+
+        void placeIfAbsent(UUID id, User.UserStatus status, Instant updatedAt, Instant now) {
+            if (id == null || status == null || updatedAt == null) {
+                return;
+            }
+            Placement placement = new Placement(status, updatedAt);
+            if (placements.putIfAbsent(id, placement) == null) {
+                placement.add(this, 1, now);
+            }
+        }
+
+        void remove(User user, Instant now) {
+            Placement previous = user.getId() == null ? null : placements.remove(user.getId());
+            if (previous != null) {
+                previous.add(this, -1, now);
+            }
+        }
+    }
+
+    private record Placement(User.UserStatus status, Instant updatedAt) {
+
+        void add(Counters counters, long delta, Instant now) {
+            counters.status(status).add(updatedAt, delta, now);
+        }
+    }
+}
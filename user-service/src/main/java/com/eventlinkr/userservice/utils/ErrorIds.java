@@ -0,0 +1,24 @@
+package com.eventlinkr.userservice.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates error ids in the random (version 4) UUID format from
+ * {@link ThreadLocalRandom}. Unlike {@link UUID#randomUUID()} this never
+ * touches the shared {@code SecureRandom}, which serializes callers and may
+ * block; error ids only need to be unique enough to find a log line, not
+ * unpredictable.
+ */
+public final class ErrorIds {
+
+    private ErrorIds() {
+    }
+
+    public static String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = random.nextLong() & ~0xF000L | 0x4000L;
+        long leastSigBits = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.eventlinkr.userservice.utils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most {@code permits} log events through per interval, so that a
+ * burst of identical failures cannot flood the log or tie up the appender.
+ * Events over the limit are only counted; the count is handed to the next
+ * event let through so the log still tells how many were left out.
+ */
+public final class LogRateLimiter {
+
+    private final int permits;
+    private final long intervalNanos;
+    private final AtomicLong windowStart;
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public LogRateLimiter(int permits, Duration interval) {
+        this.permits = permits;
+        this.intervalNanos = interval.toNanos();
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Returns {@code -1} if the event should not be logged, otherwise the
+     * number of events suppressed since the last one let through.
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() > permits) {
+            suppressed.incrementAndGet();
+            return -1;
+        }
+        return suppressed.getAndSet(0);
+    }
+}
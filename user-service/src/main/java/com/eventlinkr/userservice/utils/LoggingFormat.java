@@ -12,9 +12,19 @@ public final class LoggingFormat {
     public static final String INFO_CREATED = "Successfully created {} with ID: {}";
     public static final String INFO_UPDATED = "Successfully updated {} with ID: {}";
     public static final String INFO_DELETED = "Successfully deleted {} with ID: {}";
-    public static final String INFO_RETRIEVED = "Successfully retrieved {} with ID: {}";
+    public static final String INFO_COMPLETED = "Completed {}";
 
     // Debug logging formats
     public static final String DEBUG_PROCESSING = "Processing {}: {}";
     public static final String DEBUG_FOUND = "Found {} for {}";
+    public static final String DEBUG_RETRIEVED = "Retrieved {} with ID: {}";
+    public static final String DEBUG_LOOKED_UP = "Looked up {} users, {} missing";
+
+    // Structured logging formats: pass StructuredArguments.kv(...) arguments,
+    // which print as key=value and become fields of JSON log events. They
+    // allocate even when the event is discarded, so build them behind
+    // isDebugEnabled() on hot paths.
+    public static final String DEBUG_FOUND_BY_PROVIDER = "Found user for {}, {}";
+    public static final String DEBUG_AVAILABILITY = "Checked availability of {}: {}";
+    public static final String ERROR_FINDING_BY_PROVIDER = "Error finding user by {}, {}: {}";
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.eventlinkr.userservice.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import reactor.core.publisher.Mono;
+
+/**
+ * Deduplicates concurrent executions of the same keyed {@link Mono}: callers
+ * that arrive while a call for their key is in flight subscribe to that call
+ * instead of starting their own.
+ * <p>
+ * The shared call cannot be cancelled by any single subscriber, so a client
+ * that disconnects never fails the others. Its value, emptiness or error is
+ * delivered to every subscriber. The key is released as soon as the call
+ * signals, before subscribers observe the result, so callers arriving after
+ * completion always start a fresh call. When every subscriber cancels, the
+ * call is cancelled and its key released too.
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public SingleFlight(Counter coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> shared = Mono.defer(call).doOnEach(signal -> inFlight.remove(key, self.get())).doOnCancel(() -> inFlight.remove(key, self.get()))
+                    .share();
+            self.set(shared);
+
+            Mono<V> existing = inFlight.putIfAbsent(key, shared);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+            return shared;
+        });
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
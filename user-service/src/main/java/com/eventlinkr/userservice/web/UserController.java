@@ -1,36 +1,64 @@
 package com.eventlinkr.userservice.web;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.eventlinkr.userservice.config.BinaryCodecsConfig;
 import com.eventlinkr.userservice.domain.dto.CreateUserRequest;
+import com.eventlinkr.userservice.domain.dto.UserChange;
+import com.eventlinkr.userservice.domain.dto.UserExportRecord;
+import com.eventlinkr.userservice.domain.dto.UserImportResult;
+import com.eventlinkr.userservice.domain.dto.UserLookupRequest;
+import com.eventlinkr.userservice.domain.dto.UserLookupResult;
 import com.eventlinkr.userservice.domain.dto.UserProfileUpdateRequest;
+import com.eventlinkr.userservice.domain.dto.UserProjection;
+import com.eventlinkr.userservice.domain.dto.UserSearchPage;
+import com.eventlinkr.userservice.domain.dto.UserStats;
+import com.eventlinkr.userservice.domain.dto.UserSuggestion;
+import com.eventlinkr.userservice.domain.dto.UserVersion;
 import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.domain.model.UserField;
 import com.eventlinkr.userservice.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
-@RequestMapping("/api/user")
+// In order of preference for clients that accept anything
+@RequestMapping(value = "/api/user", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+        BinaryCodecsConfig.APPLICATION_SMILE_VALUE })
 @Tag(name = "User Management", description = "Endpoints for managing user data")
 public class UserController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final List<MediaType> USER_REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            MediaType.parseMediaType(BinaryCodecsConfig.APPLICATION_SMILE_VALUE));
+
     private final UserService userService;
 
     public UserController(UserService userService) {
@@ -38,11 +66,33 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get user by ID", description = "Retrieves user details based on their unique identifier")
+    @Operation(summary = "Get user by ID", description = "Retrieves user details based on their unique identifier, with a strong ETag, "
+            + "specific to the format served, and Last-Modified; send the ETag back as If-None-Match to get a 304 without a body while the "
+            + "user is unchanged")
     @ApiResponse(responseCode = "200", description = "User found")
+    @ApiResponse(responseCode = "304", description = "User unchanged since the given ETag")
     @ApiResponse(responseCode = "404", description = "User not found")
-    public Mono<ResponseEntity<User>> getUserById(@PathVariable String id) {
-        return userService.getUserById(id).map(ResponseEntity::ok).defaultIfEmpty(ResponseEntity.notFound().build());
+    public Mono<ResponseEntity<User>> getUserById(@PathVariable String id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType representation = representation(accept);
+        if (ifNoneMatch == null) {
+            return withVersion(userService.getUserById(id), representation).defaultIfEmpty(ResponseEntity.notFound().build());
+        }
+        // Revalidation only needs the version; the user is loaded and serialized only when it changed
+        return userService.getUserVersion(id).flatMap(version -> version.matches(ifNoneMatch, representation)
+                ? Mono.just(withVersion(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version, representation).<User>build())
+                : withVersion(userService.getUserById(id), representation));
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Get selected fields of a user", description = "Retrieves only the comma-separated fields named in fields, "
+            + "for example fields=id,username,avatarUrl")
+    @ApiResponse(responseCode = "200", description = "User found")
+    @ApiResponse(responseCode = "400", description = "Unknown field")
+    @ApiResponse(responseCode = "404", description = "User not found")
+    public Mono<ResponseEntity<UserProjection>> getUserFieldsById(@PathVariable String id, @RequestParam("fields") String fields) {
+        return userService.getUserById(id, UserField.parse(fields)).map(ResponseEntity::ok);
     }
 
     @GetMapping("/me")
@@ -54,11 +104,82 @@ public class UserController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search users", description = "Search users by name, email, or other criteria")
+    @Operation(summary = "Search users", description = "Search users by name, email, or other criteria using cursor pagination; pass the returned "
+            + "nextPageToken as page-token to fetch the following page")
     @ApiResponse(responseCode = "200", description = "Search results retrieved")
-    public Mono<ResponseEntity<Page<User>>> searchUsers(@RequestParam(required = false) String query, @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        return userService.searchUsers(query, PageRequest.of(page, size)).map(ResponseEntity::ok);
+    @ApiResponse(responseCode = "400", description = "Invalid search parameters or page token")
+    public Mono<ResponseEntity<UserSearchPage<User>>> searchUsers(@RequestParam(required = false) String query,
+            @RequestParam(name = "page-token", required = false) String pageToken, @RequestParam(defaultValue = "20") int size,
+            @RequestParam(name = "include-total", defaultValue = "false") boolean includeTotal) {
+        return userService.searchUsers(query, pageToken, size, includeTotal).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/search", params = "fields")
+    @Operation(summary = "Search users for selected fields", description = "Same search and pagination as /search, returning only the "
+            + "comma-separated fields named in fields, for example fields=id,username,avatarUrl")
+    @ApiResponse(responseCode = "200", description = "Search results retrieved")
+    @ApiResponse(responseCode = "400", description = "Invalid search parameters, page token or unknown field")
+    public Mono<ResponseEntity<UserSearchPage<UserProjection>>> searchUserFields(@RequestParam(required = false) String query,
+            @RequestParam(name = "page-token", required = false) String pageToken, @RequestParam(defaultValue = "20") int size,
+            @RequestParam(name = "include-total", defaultValue = "false") boolean includeTotal, @RequestParam("fields") String fields) {
+        return userService.searchUsers(query, pageToken, size, includeTotal, UserField.parse(fields)).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest users", description = "Typeahead suggestions for users whose username, email or full-name word starts with "
+            + "the given prefix, served from an in-memory index")
+    @ApiResponse(responseCode = "200", description = "Suggestions retrieved")
+    @ApiResponse(responseCode = "400", description = "Invalid limit")
+    public Mono<ResponseEntity<List<UserSuggestion>>> suggestUsers(@RequestParam("prefix") String prefix, @RequestParam(defaultValue = "10") int limit) {
+        return userService.suggestUsers(prefix, limit).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get user statistics", description = "Users created per hour over the last 24 hours and users by status per day over "
+            + "the last 7, kept in memory and periodically reconciled with the database")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved")
+    public Mono<ResponseEntity<UserStats>> getUserStats() {
+        return userService.getUserStats().map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export users", description = "Streams users ordered by updatedAt then id as newline-delimited JSON (or CSV with "
+            + "format=csv); pass the updatedAt and id of the last row received as after-updated-at and after-id to resume an incremental sync")
+    @ApiResponse(responseCode = "200", description = "Users streamed")
+    @ApiResponse(responseCode = "400", description = "Invalid filter or watermark")
+    public Flux<UserExportRecord> exportUsers(@RequestParam(required = false) User.UserStatus status,
+            @RequestParam(name = "updated-since", required = false) Instant updatedSince,
+            @RequestParam(name = "after-updated-at", required = false) Instant afterUpdatedAt,
+            @RequestParam(name = "after-id", required = false) UUID afterId) {
+        return userService.exportUsers(status, updatedSince, afterUpdatedAt, afterId).map(UserExportRecord::from);
+    }
+
+    @GetMapping(value = "/export", params = "format=csv", produces = TEXT_CSV_VALUE)
+    public Flux<String> exportUsersAsCsv(@RequestParam(required = false) User.UserStatus status,
+            @RequestParam(name = "updated-since", required = false) Instant updatedSince,
+            @RequestParam(name = "after-updated-at", required = false) Instant afterUpdatedAt,
+            @RequestParam(name = "after-id", required = false) UUID afterId) {
+        return userService.exportUsers(status, updatedSince, afterUpdatedAt, afterId).map(user -> UserExportRecord.from(user).toCsvLine())
+                .startWith(UserExportRecord.CSV_HEADER);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream user changes", description = "Streams every user create, update and delete after the given offset as "
+            + "newline-delimited JSON (or server-sent events), then keeps the stream open for new changes; resume with the offset of the last "
+            + "change processed")
+    @ApiResponse(responseCode = "200", description = "Changes streamed")
+    @ApiResponse(responseCode = "400", description = "Negative offset")
+    public Flux<UserChange> streamChanges(@RequestParam(defaultValue = "0") long after) {
+        return userService.streamChanges(after);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<UserChange>> streamChangeEvents(@RequestParam(required = false) Long after,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        // A reconnecting EventSource sends the id of the last event it received
+        long offset = lastEventId != null ? lastEventId : after != null ? after : 0;
+        return userService.streamChanges(offset).map(change -> ServerSentEvent.builder(change).id(String.valueOf(change.offset()))
+                .event(change.type().name().toLowerCase()).build());
     }
 
     @GetMapping("/by-provider")
@@ -69,6 +190,17 @@ public class UserController {
         return userService.getUserByProviderAndProviderId(provider, providerId).map(ResponseEntity::ok).defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @GetMapping(value = "/by-provider", params = "fields")
+    @Operation(summary = "Find selected fields of a user by provider and provider ID", description = "Retrieves only the comma-separated "
+            + "fields named in fields of the user with the given authentication provider and provider ID")
+    @ApiResponse(responseCode = "200", description = "User found")
+    @ApiResponse(responseCode = "400", description = "Unknown field")
+    @ApiResponse(responseCode = "404", description = "User not found")
+    public Mono<ResponseEntity<UserProjection>> findUserFieldsByProvider(@RequestParam("provider") String provider,
+            @RequestParam("provider-id") String providerId, @RequestParam("fields") String fields) {
+        return userService.getUserByProviderAndProviderId(provider, providerId, UserField.parse(fields)).map(ResponseEntity::ok);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new user", description = "Creates a new user with the provided details")
     @ApiResponse(responseCode = "201", description = "User created successfully")
@@ -78,16 +210,59 @@ public class UserController {
                 .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import users", description = "Streams newline-delimited user records in and one result per record out, in input order; "
+            + "records are validated individually and written in multi-row batches")
+    @ApiResponse(responseCode = "200", description = "Import results streamed")
+    public Flux<UserImportResult> importUsers(@RequestBody Flux<CreateUserRequest> createUserRequests) {
+        return userService.importUsers(createUserRequests);
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up users in bulk", description = "Resolves many user ids and provider/provider-id pairs in one request and one "
+            + "query per key kind; users come back in request order and keys without a user are listed as missing. Add fields to return "
+            + "only selected fields")
+    @ApiResponse(responseCode = "200", description = "Lookup completed")
+    @ApiResponse(responseCode = "400", description = "No keys, too many keys or unknown field")
+    public Mono<ResponseEntity<UserLookupResult<User>>> lookupUsers(@RequestBody UserLookupRequest lookupRequest) {
+        return userService.lookupUsers(lookupRequest).map(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "/lookup", params = "fields")
+    @Operation(summary = "Look up selected fields of users in bulk", description = "Same lookup as /lookup, returning only the "
+            + "comma-separated fields named in fields of each user")
+    @ApiResponse(responseCode = "200", description = "Lookup completed")
+    @ApiResponse(responseCode = "400", description = "No keys, too many keys or unknown field")
+    public Mono<ResponseEntity<UserLookupResult<UserProjection>>> lookupUserFields(@RequestBody UserLookupRequest lookupRequest,
+            @RequestParam("fields") String fields) {
+        return userService.lookupUsers(lookupRequest, UserField.parse(fields)).map(ResponseEntity::ok);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update user profile", description = "Updates the profile information for a specific user")
     @ApiResponse(responseCode = "200", description = "User profile updated successfully")
     @ApiResponse(responseCode = "404", description = "User not found")
     @ApiResponse(responseCode = "400", description = "Invalid input")
-    public Mono<ResponseEntity<User>> updateUserProfile(@PathVariable String id, @Valid @RequestBody UserProfileUpdateRequest updateRequest) {
-        return userService.updateUserProfile(id, updateRequest).map(ResponseEntity::ok).defaultIfEmpty(ResponseEntity.notFound().build())
+    @ApiResponse(responseCode = "412", description = "User no longer matches the If-Match ETag")
+    public Mono<ResponseEntity<User>> updateUserProfile(@PathVariable String id, @Valid @RequestBody UserProfileUpdateRequest updateRequest,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        Mono<User> updated = ifMatch == null ? userService.updateUserProfile(id, updateRequest) : userService.updateUserProfile(id, updateRequest, ifMatch);
+        return withVersion(updated, representation(accept)).defaultIfEmpty(ResponseEntity.notFound().build())
                 .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
     }
 
+    @PatchMapping("/{id}")
+    @Operation(summary = "Patch user profile", description = "Updates only the profile fields present in the request; include the user's "
+            + "current version to have the update rejected if someone else changed the profile first")
+    @ApiResponse(responseCode = "200", description = "User profile updated successfully")
+    @ApiResponse(responseCode = "404", description = "User not found")
+    @ApiResponse(responseCode = "409", description = "Profile was modified since the given version")
+    @ApiResponse(responseCode = "400", description = "Invalid input")
+    public Mono<ResponseEntity<User>> patchUserProfile(@PathVariable String id, @Valid @RequestBody UserProfileUpdateRequest updateRequest) {
+        return userService.patchUserProfile(id, updateRequest).map(ResponseEntity::ok);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete user", description = "Deletes a user account permanently")
     @ApiResponse(responseCode = "204", description = "User deleted successfully")
@@ -95,4 +270,45 @@ public class UserController {
     public Mono<ResponseEntity<Void>> deleteUser(@PathVariable String id) {
         return userService.deleteUser(id).then(Mono.just(ResponseEntity.noContent().<Void>build())).defaultIfEmpty(ResponseEntity.notFound().build());
     }
+
+    private static Mono<ResponseEntity<User>> withVersion(Mono<User> user, MediaType representation) {
+        return user.map(found -> withVersion(ResponseEntity.ok(), UserVersion.of(found), representation).body(found));
+    }
+
+    private static ResponseEntity.BodyBuilder withVersion(ResponseEntity.BodyBuilder builder, UserVersion version, MediaType representation) {
+        builder.eTag(version.eTag(representation).formattedTag()).varyBy(HttpHeaders.ACCEPT);
+        if (version.updatedAt() != null) {
+            builder.lastModified(version.updatedAt());
+        }
+        return builder;
+    }
+
+    /**
+     * The format a user is served in for this {@code Accept} header, chosen
+     * the way content negotiation picks among {@link #USER_REPRESENTATIONS}:
+     * the highest quality wins, then an exact match over a wildcard, then the
+     * earlier type. The ETag has to be known before the body is written, and
+     * on a 304 no body is written at all.
+     */
+    static MediaType representation(String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = accept == null || accept.isBlank() ? List.of() : MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            accepted = List.of();
+        }
+        MediaType best = MediaType.APPLICATION_JSON;
+        double bestScore = 0;
+        for (MediaType candidate : USER_REPRESENTATIONS) {
+            for (MediaType range : accepted) {
+                // Quality takes three decimals, the tiebreak for an exact match sits below them
+                double score = range.includes(candidate) ? range.getQualityValue() + (range.isConcrete() ? 0.0001 : 0) : 0;
+                if (score > bestScore) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+        }
+        return best;
+    }
 }
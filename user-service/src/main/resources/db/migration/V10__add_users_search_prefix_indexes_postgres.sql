@@ -0,0 +1,4 @@
+-- Pattern indexes serving the exact and prefix tiers of user search, which trigram indexes serve poorly for common terms
+CREATE INDEX IF NOT EXISTS idx_users_username_lower_pattern ON users (LOWER(username) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_lower_pattern ON users (LOWER(email) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_full_name_lower_pattern ON users (LOWER(full_name) text_pattern_ops);
@@ -0,0 +1,2 @@
+-- Composite index backing the incremental export watermark on (updated_at, id)
+CREATE INDEX IF NOT EXISTS idx_users_updated_at_id ON users(updated_at, id);
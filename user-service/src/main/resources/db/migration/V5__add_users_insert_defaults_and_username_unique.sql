@@ -0,0 +1,3 @@
+-- Column defaults and unique keys relied on by the single-statement user insert
+ALTER TABLE users ALTER COLUMN status SET DEFAULT 'PENDING_VERIFICATION';
+CREATE UNIQUE INDEX IF NOT EXISTS idx_users_username_unique ON users(username);
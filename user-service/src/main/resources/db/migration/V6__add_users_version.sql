@@ -0,0 +1,2 @@
+-- Row version for optimistic concurrency on profile updates
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,9 @@
+-- Append-only trail of UserService calls written in batches by AuditTrail
+CREATE TABLE IF NOT EXISTS audit_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    occurred_at TIMESTAMP NOT NULL,
+    action VARCHAR(64) NOT NULL,
+    target VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_events_occurred_at ON audit_events(occurred_at);
@@ -0,0 +1,3 @@
+-- Let the reaper find expired guests and old soft-deleted users, oldest first, without scanning the table
+CREATE INDEX IF NOT EXISTS idx_users_guest_expiration ON users(guest_expiration);
+CREATE INDEX IF NOT EXISTS idx_users_status_updated_at ON users(status, updated_at);
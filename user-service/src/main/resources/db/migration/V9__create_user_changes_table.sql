@@ -0,0 +1,24 @@
+-- Transactional outbox: one row per user write, committed with the write and drained by UserChangeRelay
+CREATE TABLE IF NOT EXISTS user_changes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id UUID NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    version BIGINT,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    -- Stream offset, assigned when the change is relayed: ids follow insert order, not commit order
+    relay_seq BIGINT,
+    relayed_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_user_changes_relay_seq ON user_changes(relay_seq);
+
+-- Finds unrelayed rows for the relay and expired relayed rows for cleanup
+CREATE INDEX IF NOT EXISTS idx_user_changes_relayed_at ON user_changes(relayed_at);
+
+-- Last relay_seq handed out; relays lock this row for the length of a batch so offsets are assigned and committed in order
+CREATE TABLE IF NOT EXISTS user_change_relay (
+    id INT PRIMARY KEY,
+    last_seq BIGINT NOT NULL
+);
+
+INSERT INTO user_change_relay (id, last_seq) SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM user_change_relay);
@@ -0,0 +1,82 @@
+package com.eventlinkr.userservice.aspect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.exception.PreconditionFailedException;
+import com.eventlinkr.userservice.exception.ResourceNotFoundException;
+import com.eventlinkr.userservice.exception.ValidationException;
+import com.eventlinkr.userservice.service.UserService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class UserServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserService target;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = mock(UserService.class);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new UserServiceMetricsAspect(meterRegistry));
+        userService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void time_TagsOutcomeOnSubscription() {
+        when(target.getUserById("found")).thenReturn(Mono.just(new User()));
+        when(target.getUserById("missing")).thenReturn(Mono.error(new ResourceNotFoundException("User", "missing")));
+        when(target.getUserById("invalid")).thenReturn(Mono.error(new ValidationException("Invalid")));
+        when(target.getUserById("broken")).thenReturn(Mono.error(new IllegalStateException("boom")));
+        when(target.getUserById("stale")).thenReturn(Mono.error(new PreconditionFailedException("User stale does not match If-Match")));
+        when(target.getUserById("raced")).thenReturn(Mono.error(new OptimisticLockingFailureException("User raced was modified")));
+
+        Mono<User> lookup = userService.getUserById("found");
+        assertEquals(0, timer("getUserById", "success").count());
+
+        StepVerifier.create(lookup).expectNextCount(1).verifyComplete();
+        StepVerifier.create(userService.getUserById("missing")).verifyError(ResourceNotFoundException.class);
+        StepVerifier.create(userService.getUserById("invalid")).verifyError(ValidationException.class);
+        StepVerifier.create(userService.getUserById("broken")).verifyError(IllegalStateException.class);
+        StepVerifier.create(userService.getUserById("stale")).verifyError(PreconditionFailedException.class);
+        StepVerifier.create(userService.getUserById("raced")).verifyError(OptimisticLockingFailureException.class);
+
+        assertEquals(1, timer("getUserById", "success").count());
+        assertEquals(1, timer("getUserById", "not_found").count());
+        assertEquals(1, timer("getUserById", "validation").count());
+        assertEquals(2, timer("getUserById", "conflict").count());
+        assertEquals(1, timer("getUserById", "error").count());
+    }
+
+    @Test
+    void time_RecordsSynchronousFailuresAndSkipsCancelledStreams() {
+        when(target.getUserById("not-a-uuid")).thenThrow(new IllegalArgumentException("Invalid UUID"));
+        when(target.exportUsers(null, null, null, null)).thenReturn(Flux.never());
+
+        StepVerifier.create(Mono.defer(() -> userService.getUserById("not-a-uuid"))).verifyError(IllegalArgumentException.class);
+        StepVerifier.create(userService.exportUsers(null, null, null, null)).thenCancel().verify();
+
+        assertEquals(1, timer("getUserById", "validation").count());
+        assertEquals(0, timer("exportUsers", "success").count());
+        assertEquals(0, timer("exportUsers", "error").count());
+    }
+
+    private Timer timer(String method, String outcome) {
+        return meterRegistry.find(UserServiceMetricsAspect.METRIC_NAME).tag("method", method).tag("outcome", outcome).timer();
+    }
+}
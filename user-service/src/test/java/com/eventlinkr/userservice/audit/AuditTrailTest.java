@@ -0,0 +1,69 @@
+package com.eventlinkr.userservice.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditTrailTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void record_WritesBatchesToFileAndFlushesOnStop() throws Exception {
+        Path file = directory.resolve("audit.jsonl");
+        AuditTrail auditTrail = new AuditTrail(new FileAuditSink(file, new ObjectMapper().registerModule(new JavaTimeModule())), meterRegistry, true,
+                1024, 100, Duration.ofSeconds(10), AuditTrail.OverflowPolicy.DROP_NEWEST);
+        auditTrail.start();
+
+        for (int i = 0; i < 250; i++) {
+            auditTrail.record("getUserById", "user-" + i);
+        }
+        auditTrail.stop();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(250, lines.size());
+        assertTrue(lines.get(0).contains("\"action\":\"getUserById\""));
+        assertTrue(lines.get(249).contains("\"target\":\"user-249\""));
+        assertEquals(250, count("flushed"));
+        assertEquals(0, count("dropped"));
+    }
+
+    @Test
+    void record_AppliesOverflowPolicy() {
+        assertEquals(List.of("0", "1", "2", "3"), recordTen(AuditTrail.OverflowPolicy.DROP_NEWEST));
+        assertEquals(List.of("6", "7", "8", "9"), recordTen(AuditTrail.OverflowPolicy.DROP_OLDEST));
+        assertEquals(12, count("dropped"));
+    }
+
+    private List<String> recordTen(AuditTrail.OverflowPolicy overflowPolicy) {
+        List<String> written = new ArrayList<>();
+        AuditTrail auditTrail = new AuditTrail(batch -> batch.forEach(event -> written.add(event.target())), meterRegistry, true, 4, 10,
+                Duration.ofSeconds(1), overflowPolicy);
+        for (int i = 0; i < 10; i++) {
+            auditTrail.record("createUser", String.valueOf(i));
+        }
+        auditTrail.start();
+        auditTrail.stop();
+        return written;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("eventlinkr.audit.events").tag("result", result).counter().count();
+    }
+}
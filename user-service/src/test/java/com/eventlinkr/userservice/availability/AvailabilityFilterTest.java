@@ -0,0 +1,55 @@
+package com.eventlinkr.userservice.availability;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.eventlinkr.userservice.repository.UserIdentity;
+import com.eventlinkr.userservice.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class AvailabilityFilterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AvailabilityFilter filter = new AvailabilityFilter(userRepository, new SimpleMeterRegistry(), true, 1000, 0.001,
+            Duration.ofSeconds(30));
+
+    @Test
+    void sync_AddsValuesWrittenOnOtherNodes() {
+        when(userRepository.count()).thenReturn(Mono.just(1L));
+        when(userRepository.findAllIdentities()).thenReturn(Flux.just(new UserIdentity("first@example.com", "first")));
+        Instant beforeRebuild = Instant.now();
+        filter.rebuild().block();
+        assertFalse(filter.mightContainUsername("second"));
+
+        when(userRepository.findIdentitiesUpdatedSince(any(Instant.class))).thenReturn(Flux.just(new UserIdentity("second@example.com", "second")));
+        filter.sync().block();
+
+        assertTrue(filter.mightContainUsername("second"));
+        assertTrue(filter.mightContainEmail("second@example.com"));
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(userRepository).findIdentitiesUpdatedSince(since.capture());
+        assertFalse(since.getValue().isBefore(beforeRebuild.minus(Duration.ofSeconds(30))));
+        assertTrue(since.getValue().isBefore(beforeRebuild));
+    }
+
+    @Test
+    void sync_DoesNothingBeforeTheFirstLoad() {
+        filter.sync().block();
+
+        assertTrue(filter.mightContainUsername("anyone"));
+        assertFalse(filter.stats().ready());
+    }
+}
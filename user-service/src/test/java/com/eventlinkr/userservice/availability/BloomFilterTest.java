@@ -0,0 +1,29 @@
+package com.eventlinkr.userservice.availability;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_NeverReturnsFalseForInsertedValues() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).parallel().forEach(i -> filter.put("user" + i + "@example.com"));
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user" + i + "@example.com")));
+    }
+
+    @Test
+    void mightContain_StaysCloseToTargetFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@example.com"));
+
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("absent" + i + "@example.org")).count();
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.02, "expected fpp: " + filter.expectedFalsePositiveRate());
+    }
+}
@@ -0,0 +1,118 @@
+package com.eventlinkr.userservice.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.eventlinkr.userservice.domain.model.ProviderKey;
+import com.eventlinkr.userservice.domain.model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class UserCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userCache = new UserCache(meterRegistry, true, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void getById_LoadsOnceAndServesHitsFromCache() {
+        User user = user("alice");
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("alice", userCache.getById(user.getId(), id -> {
+                loads.incrementAndGet();
+                return Mono.just(user);
+            }).block().getUsername());
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "users.by-id").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void getById_ReadAfterUpdateIsNeverStale() {
+        User original = user("before");
+        userCache.getById(original.getId(), id -> Mono.just(original)).block();
+
+        User updated = copy(original, "after");
+        userCache.onUserUpdated(updated);
+
+        assertEquals("after", userCache.getById(original.getId(), id -> Mono.just(updated)).block().getUsername());
+    }
+
+    @Test
+    void getById_LoadInFlightDuringWriteIsDiscarded() {
+        User original = user("before");
+        Sinks.One<User> slowLoad = Sinks.one();
+        Mono<User> inFlight = userCache.getById(original.getId(), id -> slowLoad.asMono());
+        inFlight.subscribe();
+
+        User updated = copy(original, "after");
+        userCache.onUserUpdated(updated);
+        slowLoad.tryEmitValue(original);
+
+        assertEquals("after", userCache.getById(original.getId(), id -> Mono.just(updated)).block().getUsername());
+    }
+
+    @Test
+    void getByProvider_ReadAfterDeleteGoesToDatabase() {
+        User user = user("alice");
+        userCache.getByProvider(new ProviderKey("google", "g-1"), key -> Mono.just(user)).block();
+
+        userCache.onUserDeleted(user);
+
+        assertNull(userCache.getByProvider(new ProviderKey("google", "g-1"), key -> Mono.empty()).block());
+    }
+
+    @Test
+    void getById_DoesNotCacheMissingUsers() {
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        userCache.getById(id, key -> Mono.<User>empty().doOnSubscribe(s -> loads.incrementAndGet())).block();
+        userCache.getById(id, key -> Mono.<User>empty().doOnSubscribe(s -> loads.incrementAndGet())).block();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getById_BypassesCacheWhenDisabled() {
+        UserCache disabled = new UserCache(meterRegistry, false, 100, Duration.ofMinutes(5));
+        User user = user("alice");
+        AtomicInteger loads = new AtomicInteger();
+
+        disabled.getById(user.getId(), id -> Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return user;
+        })).block();
+        disabled.getById(user.getId(), id -> Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return user;
+        })).block();
+
+        assertEquals(2, loads.get());
+    }
+
+    private static User user(String username) {
+        return User.builder().id(UUID.randomUUID()).username(username).provider("google").providerId("g-1").build();
+    }
+
+    private static User copy(User user, String username) {
+        return User.builder().id(user.getId()).username(username).provider(user.getProvider()).providerId(user.getProviderId()).build();
+    }
+}
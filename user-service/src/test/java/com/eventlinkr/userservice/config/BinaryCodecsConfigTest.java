@@ -0,0 +1,63 @@
+package com.eventlinkr.userservice.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.service.UserService;
+import com.eventlinkr.userservice.web.UserController;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import reactor.core.publisher.Mono;
+
+class BinaryCodecsConfigTest {
+
+    private WebTestClient client;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(Jackson2ObjectMapperBuilder.class, Jackson2ObjectMapperBuilder::json, definition -> definition.setScope("prototype"));
+        context.refresh();
+        BinaryCodecsConfig config = new BinaryCodecsConfig(context.getBeanProvider(Jackson2ObjectMapperBuilder.class));
+
+        user = User.builder().id(UUID.randomUUID()).username("jdoe").email("jdoe@example.com").version(2L).build();
+        UserService userService = mock(UserService.class);
+        when(userService.getUserById(user.getId().toString())).thenReturn(Mono.just(user));
+        client = WebTestClient.bindToController(new UserController(userService)).httpMessageCodecs(config::configureHttpMessageCodecs).build();
+    }
+
+    @Test
+    void clientsAcceptingAnything_GetJson() {
+        client.get().uri("/api/user/{id}", user.getId()).accept(MediaType.ALL).exchange().expectStatus().isOk().expectHeader()
+                .contentType(MediaType.APPLICATION_JSON).expectBody().jsonPath("$.username").isEqualTo("jdoe");
+    }
+
+    @Test
+    void cborIsServedOnRequest() throws Exception {
+        byte[] body = client.get().uri("/api/user/{id}", user.getId()).accept(MediaType.APPLICATION_CBOR).exchange().expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR).expectBody(byte[].class).returnResult().getResponseBody();
+
+        assertNotNull(body);
+        User decoded = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build().readValue(body, User.class);
+        assertEquals("jdoe", decoded.getUsername());
+    }
+
+    @Test
+    void smileIsServedOnRequest() {
+        client.get().uri("/api/user/{id}", user.getId()).accept(MediaType.parseMediaType(BinaryCodecsConfig.APPLICATION_SMILE_VALUE)).exchange()
+                .expectStatus().isOk().expectHeader().contentType(BinaryCodecsConfig.APPLICATION_SMILE_VALUE);
+    }
+}
@@ -0,0 +1,68 @@
+package com.eventlinkr.userservice.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class R2dbcPoolConfigTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TimedConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void setUp() {
+        R2dbcProperties properties = new R2dbcProperties();
+        properties.setUrl("r2dbc:h2:mem:///pool-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        properties.getPool().setInitialSize(2);
+        properties.getPool().setMinIdle(2);
+        properties.getPool().setMaxSize(2);
+        properties.getPool().setMaxAcquireTime(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+        connectionFactory = (TimedConnectionFactory) new R2dbcPoolConfig().connectionFactory(properties, meterRegistry, Duration.ofSeconds(30),
+                Duration.ofSeconds(30), List.of(), ReplicaRoutingConnectionFactory.Balancing.ROUND_ROBIN, Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.dispose();
+    }
+
+    @Test
+    void connectionFactory_WarmsUpInitialConnections() {
+        PoolMetrics metrics = ((ConnectionPool) connectionFactory.unwrap()).getMetrics().orElseThrow();
+
+        assertEquals(2, metrics.allocatedSize());
+        assertEquals(2, metrics.idleSize());
+    }
+
+    @Test
+    void create_TimesAcquisitionAndFailsFastWhenExhausted() {
+        Connection first = connectionFactory.create().block();
+        Connection second = connectionFactory.create().block();
+
+        StepVerifier.create(connectionFactory.create()).verifyError(R2dbcTimeoutException.class);
+
+        assertEquals(2, meterRegistry.find(TimedConnectionFactory.ACQUIRE_METRIC).tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.find(TimedConnectionFactory.ACQUIRE_METRIC).tag("outcome", "timeout").timer().count());
+        assertTrue(meterRegistry.find(TimedConnectionFactory.ACQUIRE_METRIC).tag("outcome", "timeout").timer().totalTime(
+                TimeUnit.MILLISECONDS) >= 100);
+        Mono.when(first.close(), second.close()).block();
+    }
+}
@@ -0,0 +1,117 @@
+package com.eventlinkr.userservice.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.model.ProviderKey;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.routing.ReadRouting;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import reactor.core.publisher.Mono;
+
+class ReplicaRoutingConnectionFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadRouting readRouting = new ReadRouting(meterRegistry, List.of("replica"), Duration.ofMinutes(1), 1000);
+    private ReplicaRoutingConnectionFactory connectionFactory;
+    private DatabaseClient databaseClient;
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.dispose();
+    }
+
+    @Test
+    void create_SendsMarkedReadsToReplicasAndEverythingElseToPrimary() {
+        setUp(ReplicaRoutingConnectionFactory.Balancing.ROUND_ROBIN, "replica-1", "replica-2");
+
+        assertEquals("primary", whereAmI(false));
+        assertEquals("replica-1", whereAmI(true));
+        assertEquals("replica-2", whereAmI(true));
+        assertEquals("replica-1", whereAmI(true));
+        assertEquals(3, meterRegistry.find("eventlinkr.r2dbc.reads").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void create_LeastPendingPrefersIdleReplica() {
+        setUp(ReplicaRoutingConnectionFactory.Balancing.LEAST_PENDING, "replica-1", "replica-2");
+
+        Connection held = readRouting.read(connectionFactory.create()).block();
+
+        assertEquals("replica-2", whereAmI(true));
+        assertEquals("replica-2", whereAmI(true));
+        Mono.from(held.close()).block();
+    }
+
+    @Test
+    void readSticky_ReadsRecentlyWrittenUsersFromPrimary() {
+        setUp(ReplicaRoutingConnectionFactory.Balancing.ROUND_ROBIN, "replica-1");
+        UUID written = UUID.randomUUID();
+        readRouting.onUserUpdated(User.builder().id(written).provider("google").providerId("42").build());
+
+        assertEquals("primary", query().transform(query -> readRouting.readSticky(written, query)).block());
+        assertEquals("primary", query().transform(query -> readRouting.readSticky(new ProviderKey("google", "42"), query)).block());
+        assertEquals("replica-1", query().transform(query -> readRouting.readSticky(UUID.randomUUID(), query)).block());
+        assertEquals(2, meterRegistry.find("eventlinkr.r2dbc.reads.sticky").counter().count());
+    }
+
+    @Test
+    void create_FallsBackToPrimaryWhileReplicaIsUnhealthy() {
+        setUp(ReplicaRoutingConnectionFactory.Balancing.ROUND_ROBIN);
+
+        assertEquals("primary", whereAmI(true));
+        assertEquals("primary", whereAmI(true));
+        assertEquals(0, meterRegistry.find("eventlinkr.r2dbc.replica.healthy").gauge().value());
+        assertEquals(2, meterRegistry.find("eventlinkr.r2dbc.reads").tag("target", "fallback").counter().count());
+    }
+
+    private void setUp(ReplicaRoutingConnectionFactory.Balancing balancing) {
+        // A replica database that does not exist fails every connection attempt
+        setUp(balancing, List.of("r2dbc:h2:file:///" + System.getProperty("java.io.tmpdir") + "/missing-" + UUID.randomUUID() + "?options=IFEXISTS=TRUE"));
+    }
+
+    private void setUp(ReplicaRoutingConnectionFactory.Balancing balancing, String... replicaNames) {
+        setUp(balancing, Arrays.stream(replicaNames).map(ReplicaRoutingConnectionFactoryTest::database).toList());
+    }
+
+    private void setUp(ReplicaRoutingConnectionFactory.Balancing balancing, List<String> replicaUrls) {
+        R2dbcProperties properties = new R2dbcProperties();
+        properties.setUrl(database("primary"));
+        properties.getPool().setInitialSize(1);
+        properties.getPool().setMaxSize(2);
+        connectionFactory = (ReplicaRoutingConnectionFactory) new R2dbcPoolConfig().connectionFactory(properties, meterRegistry, Duration.ofSeconds(30),
+                Duration.ofSeconds(30), replicaUrls, balancing, Duration.ofMinutes(1));
+        databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Creates a database whose only row names it, so a query tells which
+     * database served it.
+     */
+    private static String database(String name) {
+        String url = "r2dbc:h2:mem:///routing-" + name + "-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1";
+        DatabaseClient setup = DatabaseClient.create(ConnectionFactories.get(url));
+        setup.sql("CREATE TABLE marker (name VARCHAR(32))").then().then(setup.sql("INSERT INTO marker VALUES ('" + name + "')").then()).block();
+        return url;
+    }
+
+    private Mono<String> query() {
+        return databaseClient.sql("SELECT name FROM marker").map(row -> row.get("name", String.class)).one();
+    }
+
+    private String whereAmI(boolean replicaSafe) {
+        return (replicaSafe ? readRouting.read(query()) : query()).block();
+    }
+}
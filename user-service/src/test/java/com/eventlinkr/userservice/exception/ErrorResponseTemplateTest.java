@@ -0,0 +1,57 @@
+package com.eventlinkr.userservice.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.eventlinkr.userservice.domain.dto.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+class ErrorResponseTemplateTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    @Test
+    void render_MatchesJacksonSerializedApiError() throws Exception {
+        ErrorResponseTemplate template = new ErrorResponseTemplate(400, "Validation error");
+        ApiError apiError = new ApiError(400, "Validation error", "Bad \"input\" é\n");
+        apiError.addError("email: must be a well-formed email address");
+        apiError.addError("username: size must be between 3 and 50 \\ </script>");
+        apiError.setPath("/api/user/über");
+
+        byte[] rendered = template.render(apiError.getErrorId(), apiError.getDetail(), apiError.getTimestamp(), apiError.getErrors(),
+                apiError.getPath());
+
+        assertEquals(objectMapper.writeValueAsString(apiError), new String(rendered, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void render_LeavesOutNullFields() throws Exception {
+        ErrorResponseTemplate template = new ErrorResponseTemplate(404, "Resource not found");
+        ApiError apiError = new ApiError(404, "Resource not found", null);
+
+        byte[] rendered = template.render(apiError.getErrorId(), null, apiError.getTimestamp(), null, null);
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(apiError)), objectMapper.readTree(rendered));
+        assertEquals(List.of("status", "message", "errorId", "timestamp"), fieldNames(rendered));
+    }
+
+    @Test
+    void domainExceptions_CarryNoStackTrace() {
+        assertEquals(0, new ResourceNotFoundException("User", Instant.EPOCH.toString()).getStackTrace().length);
+        assertEquals(0, new ValidationException("Invalid").getStackTrace().length);
+    }
+
+    private List<String> fieldNames(byte[] json) throws Exception {
+        List<String> names = new ArrayList<>();
+        objectMapper.readTree(json).fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,63 @@
+package com.eventlinkr.userservice.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+
+import com.eventlinkr.userservice.domain.dto.UserChange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import reactor.core.publisher.Mono;
+
+class KafkaUserChangeSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void publish_SendsChangesKeyedByUserAndCompletesOnceAcknowledged() throws Exception {
+        MockProducer<String, byte[]> producer = new MockProducer<>(false, new StringSerializer(), new ByteArraySerializer());
+        KafkaUserChangeSink sink = new KafkaUserChangeSink(producer, "user-changes", objectMapper, Duration.ofSeconds(5));
+        UserChange first = change(1);
+        UserChange second = change(2);
+
+        Mono<Void> published = sink.publish(List.of(first, second)).cache();
+        published.subscribe();
+        assertEquals(2, producer.history().size());
+        producer.completeNext();
+        producer.completeNext();
+        published.block(Duration.ofSeconds(5));
+
+        ProducerRecord<String, byte[]> record = producer.history().get(1);
+        assertEquals("user-changes", record.topic());
+        assertEquals(second.userId().toString(), record.key());
+        assertEquals(second, objectMapper.readValue(record.value(), UserChange.class));
+    }
+
+    @Test
+    void publish_FailsWhenTheBrokerRejectsARecord() {
+        MockProducer<String, byte[]> producer = new MockProducer<>(false, new StringSerializer(), new ByteArraySerializer());
+        KafkaUserChangeSink sink = new KafkaUserChangeSink(producer, "user-changes", objectMapper, Duration.ofSeconds(5));
+
+        Mono<Void> published = sink.publish(List.of(change(1))).cache();
+        published.subscribe(null, error -> {
+        });
+        producer.errorNext(new IllegalStateException("not leader"));
+
+        assertThrows(IllegalStateException.class, () -> published.block(Duration.ofSeconds(5)));
+    }
+
+    private static UserChange change(long offset) {
+        return new UserChange(offset, UUID.randomUUID(), UserChange.Type.UPDATED, offset, Instant.parse("2026-01-01T00:00:00Z"));
+    }
+}
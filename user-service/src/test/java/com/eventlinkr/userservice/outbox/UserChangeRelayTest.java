@@ -0,0 +1,146 @@
+package com.eventlinkr.userservice.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.eventlinkr.userservice.domain.dto.UserChange;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.repository.UserOutboxRepositoryImpl;
+import com.eventlinkr.userservice.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class UserChangeRelayTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private DatabaseClient databaseClient;
+    private TransactionalOperator transactionalOperator;
+    private UserOutbox userOutbox;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:pool:h2:mem:///outbox-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V9__create_user_changes_table.sql")).populate(connectionFactory).block();
+        transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        databaseClient = DatabaseClient.create(connectionFactory);
+        UserOutboxRepositoryImpl outboxRepository = new UserOutboxRepositoryImpl(databaseClient);
+        when(userRepository.recordChanges(any(), any()))
+                .thenAnswer(invocation -> outboxRepository.recordChanges(invocation.getArgument(0), invocation.getArgument(1)));
+        when(userRepository.lockRelay()).thenAnswer(invocation -> outboxRepository.lockRelay());
+        when(userRepository.findUnrelayedChanges(anyInt())).thenAnswer(invocation -> outboxRepository.findUnrelayedChanges(invocation.getArgument(0)));
+        when(userRepository.markRelayed(any(), anyLong(), any())).thenAnswer(
+                invocation -> outboxRepository.markRelayed(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+        when(userRepository.findRelayedChanges(anyLong(), anyInt()))
+                .thenAnswer(invocation -> outboxRepository.findRelayedChanges(invocation.getArgument(0), invocation.getArgument(1)));
+        when(userRepository.deleteRelayedBefore(any(), anyInt()))
+                .thenAnswer(invocation -> outboxRepository.deleteRelayedBefore(invocation.getArgument(0), invocation.getArgument(1)));
+        userOutbox = new UserOutbox(userRepository, transactionalOperator);
+    }
+
+    @Test
+    void write_RecordsChangesOnlyWhenTheWriteCommits() {
+        User kept = user();
+        userOutbox.write(UserChange.Type.UPDATED, Mono.just(kept)).block();
+        assertThrows(IllegalStateException.class,
+                () -> userOutbox.writeAll(UserChange.Type.DELETED, Flux.just(user()).concatWith(Mono.error(new IllegalStateException()))).blockLast());
+        userOutbox.write(UserChange.Type.CREATED, Mono.empty()).block();
+
+        List<UserChange> changes = relayAll();
+        assertEquals(1, changes.size());
+        assertEquals(kept.getId(), changes.get(0).userId());
+        assertEquals(UserChange.Type.UPDATED, changes.get(0).type());
+        assertEquals(3L, changes.get(0).version());
+    }
+
+    @Test
+    void relay_PublishesInOffsetOrderAndMarksChangesRelayed() {
+        userOutbox.writeAll(UserChange.Type.CREATED, Flux.just(user(), user(), user(), user(), user())).blockLast();
+        RecordingSink sink = new RecordingSink();
+        UserChangeRelay relay = relay(sink, 2);
+
+        assertEquals(5, relay.relay().block());
+        assertEquals(0, relay.relay().block());
+
+        List<Long> offsets = sink.published.stream().map(UserChange::offset).toList();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), offsets);
+        assertEquals(offsets.subList(2, 5), userRepository.findRelayedChanges(offsets.get(1), 10).map(UserChange::offset).collectList().block());
+        assertEquals(5, meterRegistry.get("eventlinkr.outbox.relayed").counter().count());
+        assertEquals(0, relay.purge().block());
+    }
+
+    @Test
+    void findRelayedChanges_ReturnsAChangeThatCommittedAfterAHigherIdWasStreamed() {
+        User early = user();
+        User late = user();
+        // The late change took the lower id but commits only after the higher one has been relayed and streamed
+        userOutbox.write(UserChange.Type.CREATED, Mono.just(early)).block();
+        relayAll();
+        List<UserChange> streamed = userRepository.findRelayedChanges(0, 10).collectList().block();
+        long lowestId = databaseClient.sql("SELECT MIN(id) AS id FROM user_changes").map(row -> row.get("id", Long.class)).one().block();
+        databaseClient.sql("INSERT INTO user_changes (id, user_id, change_type, version, occurred_at) VALUES (:id, :userId, 'CREATED', 0, :occurredAt)")
+                .bind("id", lowestId - 1).bind("userId", late.getId()).bind("occurredAt", Instant.now()).then().block();
+        relayAll();
+
+        List<UserChange> next = userRepository.findRelayedChanges(streamed.get(streamed.size() - 1).offset(), 10).collectList().block();
+        assertEquals(List.of(early.getId()), streamed.stream().map(UserChange::userId).toList());
+        assertEquals(List.of(late.getId()), next.stream().map(UserChange::userId).toList());
+    }
+
+    @Test
+    void relay_LeavesChangesForTheNextRunWhenTheSinkFails() {
+        userOutbox.write(UserChange.Type.CREATED, Mono.just(user())).block();
+
+        assertThrows(IllegalStateException.class, () -> relay(changes -> Mono.error(new IllegalStateException("broker down")), 10).relay().block());
+
+        assertEquals(0, userRepository.findRelayedChanges(0, 10).count().block());
+        assertEquals(1, relayAll().size());
+    }
+
+    private UserChangeRelay relay(UserChangeSink sink, int batchSize) {
+        return new UserChangeRelay(userRepository, transactionalOperator, sink, meterRegistry, true, batchSize, Duration.ofDays(7));
+    }
+
+    private List<UserChange> relayAll() {
+        RecordingSink sink = new RecordingSink();
+        relay(sink, 10).relay().block();
+        return sink.published;
+    }
+
+    private static User user() {
+        return User.builder().id(UUID.randomUUID()).version(3L).updatedAt(Instant.now()).build();
+    }
+
+    private static final class RecordingSink implements UserChangeSink {
+
+        final List<UserChange> published = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Mono<Void> publish(List<UserChange> changes) {
+            return Mono.fromRunnable(() -> published.addAll(changes));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.eventlinkr.userservice.reaper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.outbox.UserOutbox;
+import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.service.UserChangeListener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+
+class UserReaperTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserOutbox userOutbox = mock(UserOutbox.class);
+    private final UserChangeListener listener = mock(UserChangeListener.class);
+
+    @BeforeEach
+    void setUp() {
+        when(userOutbox.writeAll(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(userRepository.deleteSoftDeleted(any(Instant.class), eq(2))).thenReturn(Flux.empty());
+    }
+
+    @Test
+    void reap_DeletesInBatchesUntilABatchComesBackShort() {
+        when(userRepository.deleteExpiredGuests(any(Instant.class), eq(2))).thenReturn(users(2), users(2), users(1));
+
+        assertEquals(5, reaper(10).reap().block());
+
+        verify(userRepository, times(3)).deleteExpiredGuests(any(Instant.class), eq(2));
+        verify(listener, times(5)).onUserDeleted(any(User.class));
+        assertEquals(5, meterRegistry.get("eventlinkr.reaper.removed").tag("target", "expired-guests").counter().count());
+        assertEquals(3, meterRegistry.get("eventlinkr.reaper.batch").tag("target", "expired-guests").timer().count());
+    }
+
+    @Test
+    void reap_StopsAfterMaxBatches() {
+        when(userRepository.deleteExpiredGuests(any(Instant.class), eq(2))).thenAnswer(invocation -> users(2));
+
+        assertEquals(6, reaper(3).reap().block());
+
+        verify(userRepository, times(3)).deleteExpiredGuests(any(Instant.class), eq(2));
+        verify(userRepository).deleteSoftDeleted(any(Instant.class), eq(2));
+    }
+
+    private UserReaper reaper(int maxBatches) {
+        return new UserReaper(userRepository, userOutbox, List.of(listener), meterRegistry, true, 2, maxBatches, Duration.ofMillis(1), Duration.ofDays(30));
+    }
+
+    private static Flux<User> users(int count) {
+        return Flux.fromStream(Stream.generate(() -> User.builder().id(UUID.randomUUID()).build()).limit(count));
+    }
+}
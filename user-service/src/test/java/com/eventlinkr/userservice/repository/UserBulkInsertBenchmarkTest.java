@@ -0,0 +1,77 @@
+package com.eventlinkr.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * Compares importing users one request at a time (existence check plus a
+ * single-row INSERT) against multi-row batch inserts on in-memory H2. Run with
+ * {@code mvn test -Dbenchmark=true -Dtest=UserBulkInsertBenchmarkTest}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UserBulkInsertBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int BATCH_SIZE = 500;
+
+    private DatabaseClient databaseClient;
+    private UserBulkRepositoryImpl bulkRepository;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:pool:h2:mem:///bulk-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_users_table_postgres.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        bulkRepository = new UserBulkRepositoryImpl(databaseClient);
+    }
+
+    @Test
+    void batchedInsertOutperformsPerRowInsert() {
+        List<User> users = users("single");
+        long start = System.nanoTime();
+        Flux.fromIterable(users)
+                .concatMap(user -> databaseClient.sql("SELECT COUNT(*) FROM users WHERE email = :email").bind("email", user.getEmail())
+                        .map(row -> row.get(0, Long.class)).one().then(bulkRepository.insertAll(List.of(user))))
+                .blockLast();
+        double perRowMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        List<User> batched = users("batch");
+        start = System.nanoTime();
+        Flux.fromIterable(batched).buffer(BATCH_SIZE)
+                .concatMap(batch -> databaseClient.sql("SELECT email FROM users WHERE email IN (:emails)")
+                        .bind("emails", batch.stream().map(User::getEmail).toList()).fetch().all().then(bulkRepository.insertAll(batch)))
+                .blockLast();
+        double batchMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        System.out.printf("rows=%d per_row_ms=%.0f (%.0f rows/s) batched_ms=%.0f (%.0f rows/s, batch=%d)%n", ROWS, perRowMillis,
+                ROWS / perRowMillis * 1000, batchMillis, ROWS / batchMillis * 1000, BATCH_SIZE);
+        assertEquals(2L * ROWS, databaseClient.sql("SELECT COUNT(*) FROM users").map(row -> row.get(0, Long.class)).one().block());
+    }
+
+    private static List<User> users(String prefix) {
+        Instant now = Instant.now();
+        List<User> users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            users.add(User.builder().id(UUID.randomUUID()).username(prefix + i).email(prefix + i + "@example.com").fullName("User " + i)
+                    .status(User.UserStatus.PENDING_VERIFICATION).provider("google").providerId(prefix + i).createdAt(now).updatedAt(now).build());
+        }
+        return users;
+    }
+}
@@ -0,0 +1,87 @@
+package com.eventlinkr.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.model.ProviderKey;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.domain.model.UserField;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+
+class UserLookupRepositoryImplTest {
+
+    private UserLookupRepositoryImpl lookupRepository;
+    private UUID aliceId;
+    private UUID bobId;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:pool:h2:mem:///lookup-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_users_table_postgres.sql"),
+                new ClassPathResource("db/migration/V5__add_users_insert_defaults_and_username_unique.sql"),
+                new ClassPathResource("db/migration/V6__add_users_version.sql")).populate(connectionFactory).block();
+        DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+        MappingR2dbcConverter converter = new MappingR2dbcConverter(new R2dbcMappingContext());
+        lookupRepository = new UserLookupRepositoryImpl(databaseClient, converter);
+
+        UserWriteRepositoryImpl writeRepository = new UserWriteRepositoryImpl(databaseClient, converter);
+        aliceId = writeRepository.insertIfAbsent(user("alice", "google")).block().getId();
+        bobId = writeRepository.insertIfAbsent(user("bob", "github")).block().getId();
+        writeRepository.insertIfAbsent(user("carol", "google")).block();
+    }
+
+    @Test
+    void findAllByIds_ReturnsOnlyExistingUsers() {
+        List<User> users = lookupRepository.findAllByIds(List.of(bobId, UUID.randomUUID(), aliceId), null).collectList().block();
+
+        assertNotNull(users);
+        assertEquals(Set.of("alice", "bob"), users.stream().map(User::getUsername).collect(Collectors.toSet()));
+        users.forEach(user -> assertNotNull(user.getEmail()));
+    }
+
+    @Test
+    void findAllByIds_ReadsOnlySelectedColumnsAndTheId() {
+        List<User> users = lookupRepository.findAllByIds(List.of(aliceId), EnumSet.of(UserField.USERNAME)).collectList().block();
+
+        assertNotNull(users);
+        assertEquals(1, users.size());
+        assertEquals(aliceId, users.get(0).getId());
+        assertEquals("alice", users.get(0).getUsername());
+        assertNull(users.get(0).getEmail());
+    }
+
+    @Test
+    void findAllByProviderKeys_MatchesWholePairs() {
+        // github/g-alice pairs an existing provider with another provider's id and must not match
+        List<ProviderKey> keys = List.of(new ProviderKey("google", "g-carol"), new ProviderKey("github", "g-alice"), new ProviderKey("github", "g-bob"));
+
+        List<User> users = lookupRepository.findAllByProviderKeys(keys, EnumSet.of(UserField.USERNAME)).collectList().block();
+
+        assertNotNull(users);
+        assertEquals(Set.of("carol", "bob"), users.stream().map(User::getUsername).collect(Collectors.toSet()));
+        users.forEach(user -> assertNotNull(user.getProviderId()));
+    }
+
+    private static User user(String username, String provider) {
+        return User.builder().username(username).email(username + "@example.com").passwordHash("secret").provider(provider).providerId("g-" + username)
+                .createdAt(Instant.now()).build();
+    }
+}
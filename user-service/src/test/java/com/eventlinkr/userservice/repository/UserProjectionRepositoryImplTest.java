@@ -0,0 +1,126 @@
+package com.eventlinkr.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.dto.UserProjection;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.domain.model.UserField;
+import com.eventlinkr.userservice.exception.ValidationException;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+
+class UserProjectionRepositoryImplTest {
+
+    private DatabaseClient databaseClient;
+    private UserWriteRepositoryImpl writeRepository;
+    private UserProjectionRepositoryImpl projectionRepository;
+    private UUID aliceId;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:pool:h2:mem:///projection-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_users_table_postgres.sql"),
+                new ClassPathResource("db/migration/V5__add_users_insert_defaults_and_username_unique.sql"),
+                new ClassPathResource("db/migration/V6__add_users_version.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        MappingR2dbcConverter converter = new MappingR2dbcConverter(new R2dbcMappingContext());
+        projectionRepository = new UserProjectionRepositoryImpl(databaseClient, converter);
+
+        writeRepository = new UserWriteRepositoryImpl(databaseClient, converter);
+        aliceId = writeRepository.insertIfAbsent(user("alice")).block().getId();
+        writeRepository.insertIfAbsent(user("bob")).block();
+    }
+
+    @Test
+    void findProjectedById_ReadsOnlySelectedColumns() {
+        User alice = projectionRepository.findProjectedById(aliceId, EnumSet.of(UserField.USERNAME, UserField.AVATAR_URL)).block();
+
+        assertNotNull(alice);
+        assertEquals("alice", alice.getUsername());
+        assertEquals("https://example.com/alice.png", alice.getAvatarUrl());
+        assertNull(alice.getEmail());
+        assertNull(alice.getPasswordHash());
+        assertNull(alice.getCreatedAt());
+    }
+
+    @Test
+    void findProjectedNewestFirst_AlwaysReadsKeysetColumns() {
+        List<User> page = projectionRepository.findProjectedNewestFirst(null, null, 10, EnumSet.of(UserField.USERNAME)).collectList().block();
+
+        assertNotNull(page);
+        assertEquals(2, page.size());
+        page.forEach(user -> {
+            assertNotNull(user.getId());
+            assertNotNull(user.getCreatedAt());
+            assertNull(user.getEmail());
+        });
+    }
+
+    @Test
+    void findProjectedNewestFirst_ContinuesAfterTheKeysetAcrossTiedTimestamps() {
+        for (String username : List.of("carol", "dave", "erin")) {
+            writeRepository.insertIfAbsent(user(username)).block();
+        }
+        // Four users share a timestamp, so pages are split inside the tie and only the id orders them
+        databaseClient.sql("UPDATE users SET created_at = :createdAt").bind("createdAt", Instant.parse("2024-05-01T10:00:00Z")).then().block();
+        databaseClient.sql("UPDATE users SET created_at = :createdAt WHERE username = 'bob'").bind("createdAt", Instant.parse("2024-05-02T10:00:00Z"))
+                .then().block();
+
+        List<UUID> paged = new ArrayList<>();
+        User last = null;
+        List<User> page;
+        do {
+            page = projectionRepository.findProjectedNewestFirst(last == null ? null : last.getCreatedAt(), last == null ? null : last.getId(), 2,
+                    EnumSet.of(UserField.USERNAME)).collectList().block();
+            page.forEach(user -> paged.add(user.getId()));
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == 2);
+
+        List<User> all = projectionRepository.findProjectedNewestFirst(null, null, 10, EnumSet.of(UserField.USERNAME)).collectList().block();
+        assertEquals(5, all.size());
+        assertEquals("bob", all.get(0).getUsername());
+        assertEquals(all.stream().map(User::getId).toList(), paged);
+    }
+
+    @Test
+    void projection_SerializesSelectedFieldsInFieldOrder() throws Exception {
+        Set<UserField> fields = UserField.parse("avatarUrl, username,id");
+        User alice = projectionRepository.findProjectedByProvider("google", "g-alice", fields).block();
+
+        String json = Jackson2ObjectMapperBuilder.json().build().writeValueAsString(new UserProjection(alice, fields));
+
+        assertEquals("{\"id\":\"" + aliceId + "\",\"username\":\"alice\",\"avatarUrl\":\"https://example.com/alice.png\"}", json);
+    }
+
+    @Test
+    void parse_RejectsUnknownAndHiddenFields() {
+        ValidationException unknown = assertThrows(ValidationException.class, () -> UserField.parse("username,passwordHash,loginAttempts"));
+        assertEquals("Unknown fields: passwordHash, loginAttempts", unknown.getMessage());
+        assertThrows(ValidationException.class, () -> UserField.parse(" , "));
+    }
+
+    private static User user(String username) {
+        return User.builder().username(username).email(username + "@example.com").passwordHash("secret").avatarUrl("https://example.com/" + username + ".png")
+                .provider("google").providerId("g-" + username).createdAt(Instant.now()).build();
+    }
+}
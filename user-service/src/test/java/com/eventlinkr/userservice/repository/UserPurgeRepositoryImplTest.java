@@ -0,0 +1,88 @@
+package com.eventlinkr.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+
+class UserPurgeRepositoryImplTest {
+
+    private final Instant now = Instant.now();
+    private DatabaseClient databaseClient;
+    private UserPurgeRepositoryImpl purgeRepository;
+    private UserWriteRepositoryImpl writeRepository;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:pool:h2:mem:///purge-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_users_table_postgres.sql"),
+                new ClassPathResource("db/migration/V5__add_users_insert_defaults_and_username_unique.sql"),
+                new ClassPathResource("db/migration/V6__add_users_version.sql"),
+                new ClassPathResource("db/migration/V8__add_users_reaper_indexes.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        MappingR2dbcConverter converter = new MappingR2dbcConverter(new R2dbcMappingContext());
+        purgeRepository = new UserPurgeRepositoryImpl(databaseClient, converter);
+        writeRepository = new UserWriteRepositoryImpl(databaseClient, converter);
+    }
+
+    @Test
+    void deleteExpiredGuests_DeletesOldestExpiredFirstUpToLimit() {
+        insert("expired-long-ago", now.minus(Duration.ofDays(2)));
+        insert("expired-recently", now.minus(Duration.ofHours(1)));
+        insert("still-valid", now.plus(Duration.ofHours(1)));
+        insert("member", null);
+
+        assertEquals(List.of("expired-long-ago"), usernames(purgeRepository.deleteExpiredGuests(now, 1).collectList().block()));
+        assertEquals(List.of("expired-recently"), usernames(purgeRepository.deleteExpiredGuests(now, 10).collectList().block()));
+        assertEquals(Set.of("still-valid", "member"), remaining());
+    }
+
+    @Test
+    void deleteSoftDeleted_DeletesOnlyDeletedUsersPastCutoff() {
+        softDelete(insert("deleted-long-ago", null), now.minus(Duration.ofDays(40)));
+        softDelete(insert("deleted-recently", null), now.minus(Duration.ofDays(1)));
+        insert("active", null);
+
+        List<User> deleted = purgeRepository.deleteSoftDeleted(now.minus(Duration.ofDays(30)), 10).collectList().block();
+
+        assertEquals(List.of("deleted-long-ago"), usernames(deleted));
+        assertEquals("deleted-long-ago@example.com", deleted.get(0).getEmail());
+        assertEquals(Set.of("deleted-recently", "active"), remaining());
+    }
+
+    private UUID insert(String username, Instant guestExpiration) {
+        return writeRepository.insertIfAbsent(User.builder().username(username).email(username + "@example.com").guestExpiration(guestExpiration)
+                .build()).block().getId();
+    }
+
+    private void softDelete(UUID id, Instant updatedAt) {
+        databaseClient.sql("UPDATE users SET status = 'DELETED', updated_at = :updatedAt WHERE id = :id").bind("updatedAt", updatedAt).bind("id", id)
+                .then().block();
+    }
+
+    private Set<String> remaining() {
+        return databaseClient.sql("SELECT username FROM users").map(row -> row.get("username", String.class)).all().collect(Collectors.toSet())
+                .block();
+    }
+
+    private static List<String> usernames(List<User> users) {
+        return users.stream().map(User::getUsername).toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.eventlinkr.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+
+class UserRepositoryTest {
+
+    private static final Instant MAY_FIRST = Instant.parse("2024-05-01T10:00:00Z");
+    private static final Instant MAY_SECOND = Instant.parse("2024-05-02T10:00:00Z");
+    private static final Instant MAY_THIRD = Instant.parse("2024-05-03T10:00:00Z");
+
+    private DatabaseClient databaseClient;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:pool:h2:mem:///repository-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_users_table_postgres.sql"),
+                new ClassPathResource("db/migration/V5__add_users_insert_defaults_and_username_unique.sql"),
+                new ClassPathResource("db/migration/V6__add_users_version.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        userRepository = repository(connectionFactory, databaseClient);
+
+        insert("alice", User.UserStatus.ACTIVE, MAY_FIRST);
+        insert("bob", User.UserStatus.PENDING_VERIFICATION, MAY_SECOND);
+        insert("carol", User.UserStatus.ACTIVE, MAY_SECOND);
+        insert("dave", User.UserStatus.ACTIVE, MAY_SECOND);
+        insert("erin", User.UserStatus.SUSPENDED, MAY_THIRD);
+    }
+
+    @Test
+    void findForExport_OrdersByUpdatedAtThenId() {
+        List<User> all = userRepository.findForExport(null, null, null, null, 10).collectList().block();
+
+        assertEquals(5, all.size());
+        assertEquals(expectedOrder(all), all.stream().map(User::getId).toList());
+        assertEquals("alice", all.get(0).getUsername());
+        assertEquals("erin", all.get(4).getUsername());
+    }
+
+    @Test
+    void findForExport_ResumesAfterTheWatermarkInsideTiedTimestamps() {
+        List<User> all = userRepository.findForExport(null, null, null, null, 10).collectList().block();
+
+        List<UUID> chunked = new ArrayList<>();
+        User last = null;
+        List<User> chunk;
+        do {
+            chunk = userRepository.findForExport(null, null, last == null ? null : last.getUpdatedAt(), last == null ? null : last.getId(), 2)
+                    .collectList().block();
+            chunk.forEach(user -> chunked.add(user.getId()));
+            last = chunk.isEmpty() ? last : chunk.get(chunk.size() - 1);
+        } while (chunk.size() == 2);
+
+        assertEquals(all.stream().map(User::getId).toList(), chunked);
+    }
+
+    @Test
+    void findForExport_FiltersByStatusAndUpdatedSince() {
+        List<User> active = userRepository.findForExport(User.UserStatus.ACTIVE.name(), null, null, null, 10).collectList().block();
+        List<User> sinceMaySecond = userRepository.findForExport(null, MAY_SECOND, null, null, 10).collectList().block();
+        List<User> both = userRepository.findForExport(User.UserStatus.ACTIVE.name(), MAY_SECOND, null, null, 10).collectList().block();
+
+        assertEquals(List.of("alice", "carol", "dave"), active.stream().map(User::getUsername).sorted().toList());
+        assertEquals(List.of("bob", "carol", "dave", "erin"), sinceMaySecond.stream().map(User::getUsername).sorted().toList());
+        assertEquals(List.of("carol", "dave"), both.stream().map(User::getUsername).sorted().toList());
+    }
+
+    private static List<UUID> expectedOrder(List<User> users) {
+        return users.stream().sorted(Comparator.comparing(User::getUpdatedAt).thenComparing(user -> user.getId().toString()))
+                .map(User::getId).toList();
+    }
+
+    private void insert(String username, User.UserStatus status, Instant updatedAt) {
+        databaseClient.sql("INSERT INTO users (username, email, status, created_at, updated_at) VALUES (:username, :email, :status, :at, :at)")
+                .bind("username", username).bind("email", username + "@example.com").bind("status", status.name()).bind("at", updatedAt).then().block();
+    }
+
+    /**
+     * The repository as Spring Data builds it, with the custom fragments
+     * backed by the same database.
+     */
+    private static UserRepository repository(ConnectionFactory connectionFactory, DatabaseClient databaseClient) {
+        MappingR2dbcConverter converter = new MappingR2dbcConverter(new R2dbcMappingContext());
+        RepositoryFragments fragments = RepositoryFragments.just(new UserSearchRepositoryImpl(databaseClient, converter),
+                new UserBulkRepositoryImpl(databaseClient), new UserWriteRepositoryImpl(databaseClient, converter),
+                new UserProjectionRepositoryImpl(databaseClient, converter), new UserLookupRepositoryImpl(databaseClient, converter),
+                new UserPurgeRepositoryImpl(databaseClient, converter), new UserOutboxRepositoryImpl(databaseClient));
+        return new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory)).getRepository(UserRepository.class, fragments);
+    }
+}
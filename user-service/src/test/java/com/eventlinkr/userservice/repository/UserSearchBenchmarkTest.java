@@ -0,0 +1,189 @@
+package com.eventlinkr.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StreamUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.r2dbc.spi.ConnectionFactories;
+
+/**
+ * Compares the indexed, ranked search and its count against the original
+ * {@code LOWER(col) LIKE '%term%'} query on a seeded 1M-row PostgreSQL table,
+ * once with the plans PostgreSQL builds for each term and once with the
+ * generic plans it may switch to for the cached statements, and checks that
+ * the PostgreSQL search returns the same pages as the portable one. Run with {@code mvn test -Dbenchmark=true -Dtest=UserSearchBenchmarkTest};
+ * requires Docker. The table is created from the DDL below rather than
+ * {@code V1__create_users_table_postgres.sql}, whose {@code RANDOM_UUID()}
+ * default only exists on H2.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UserSearchBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 25;
+    private static final List<String> TERMS = List.of("user424242", "last42", "example");
+
+    private static final String USERS_TABLE = """
+            CREATE TABLE users (
+                id UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+                username VARCHAR(255),
+                email VARCHAR(255) UNIQUE,
+                password_hash VARCHAR(255),
+                full_name VARCHAR(255),
+                headline VARCHAR(255),
+                profile_link VARCHAR(255),
+                headshot VARCHAR(255),
+                status VARCHAR(20),
+                provider VARCHAR(50),
+                provider_id VARCHAR(255),
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                guest_expiration TIMESTAMP,
+                avatar_url VARCHAR(255),
+                bio TEXT,
+                email_verified BOOLEAN DEFAULT FALSE,
+                last_login_at TIMESTAMP,
+                login_attempts INTEGER DEFAULT 0,
+                last_failed_login TIMESTAMP,
+                UNIQUE(provider, provider_id)
+            )
+            """;
+
+    private static final String LEGACY_QUERY = """
+            SELECT * FROM users
+            WHERE LOWER(full_name) LIKE LOWER(concat('%', :term, '%'))
+                OR LOWER(email) LIKE LOWER(concat('%', :term, '%'))
+                OR LOWER(username) LIKE LOWER(concat('%', :term, '%'))
+            ORDER BY created_at DESC
+            LIMIT 21 OFFSET 0
+            """;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15").withDatabaseName("benchdb").withUsername("bench")
+            .withPassword("bench");
+
+    private static DatabaseClient databaseClient;
+    private static DatabaseClient genericPlanClient;
+
+    @BeforeAll
+    static void seed() throws Exception {
+        try (Connection connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+                Statement statement = connection.createStatement()) {
+            statement.execute(USERS_TABLE);
+            statement.execute(script("db/migration/V2__add_users_created_at_id_index.sql"));
+            statement.execute("""
+                    INSERT INTO users (id, username, email, full_name, status, provider, provider_id, created_at, updated_at)
+                    SELECT gen_random_uuid(), 'user' || g, 'user' || g || '@example.com', 'First' || g || ' Last' || (g %% 1000),
+                        'ACTIVE', 'google', 'g' || g, NOW() - (g || ' seconds')::interval, NOW()
+                    FROM generate_series(1, %d) g
+                    """.formatted(ROWS));
+            statement.execute(script("db/migration/V3__add_users_search_indexes_postgres.sql"));
+            statement.execute(script("db/migration/V10__add_users_search_prefix_indexes_postgres.sql"));
+            statement.execute("ANALYZE users");
+        }
+
+        // One pooled connection each, as in the service, so the driver's statement cache is reused
+        String url = String.format("r2dbc:pool:postgresql://%s:%s@%s:%d/%s?maxSize=1", POSTGRES.getUsername(), POSTGRES.getPassword(), POSTGRES.getHost(),
+                POSTGRES.getFirstMappedPort(), POSTGRES.getDatabaseName());
+        databaseClient = DatabaseClient.create(ConnectionFactories.get(url));
+        genericPlanClient = DatabaseClient.create(ConnectionFactories.get(url + "&options=plan_cache_mode%3Dforce_generic_plan"));
+    }
+
+    @Test
+    void compareIndexedSearchWithLegacyLikeScan() throws Exception {
+        for (DatabaseClient client : List.of(databaseClient, genericPlanClient)) {
+            UserSearchRepositoryImpl searchRepository = repository(client, true);
+            for (String term : TERMS) {
+                double legacy = medianMillis(() -> client.sql(LEGACY_QUERY).bind("term", term).fetch().all().count().block());
+                double indexed = medianMillis(() -> searchRepository.searchUsers(term, null, null, null, 21).count().block());
+                double count = medianMillis(() -> searchRepository.countSearchResults(term).block());
+                System.out.printf("plans=%-7s term=%-12s rows=%d legacy_like_ms=%.2f indexed_ranked_ms=%.2f count_ms=%.2f%n",
+                        client == databaseClient ? "custom" : "generic", term, ROWS, legacy, indexed, count);
+            }
+        }
+
+        try (Connection connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+                Statement statement = connection.createStatement();
+                ResultSet plan = statement.executeQuery("EXPLAIN SELECT * FROM users WHERE LOWER(username) LIKE '%user424242%'")) {
+            StringBuilder text = new StringBuilder();
+            while (plan.next()) {
+                text.append(plan.getString(1)).append('\n');
+            }
+            assertTrue(text.toString().contains("idx_users_username_trgm"), text.toString());
+        }
+    }
+
+    @Test
+    void postgresSearchReturnsThePagesOfThePortableQuery() {
+        UserSearchRepositoryImpl portable = repository(databaseClient, false);
+        for (DatabaseClient client : List.of(databaseClient, genericPlanClient)) {
+            UserSearchRepositoryImpl searchRepository = repository(client, true);
+            for (String term : List.of("user424242", "last42", "example", "first4242", "user42")) {
+                assertEquals(pages(portable, term), pages(searchRepository, term), term);
+            }
+        }
+    }
+
+    private static UserSearchRepositoryImpl repository(DatabaseClient client, boolean postgres) {
+        return new UserSearchRepositoryImpl(client, new MappingR2dbcConverter(new R2dbcMappingContext()), postgres);
+    }
+
+    /**
+     * The ids and ranks of the first pages of a search, following the keyset.
+     */
+    private static List<String> pages(UserSearchRepositoryImpl searchRepository, String term) {
+        List<String> hits = new ArrayList<>();
+        RankedUser last = null;
+        for (int page = 0; page < 3; page++) {
+            List<RankedUser> users = last == null ? searchRepository.searchUsers(term, null, null, null, 21).collectList().block()
+                    : searchRepository.searchUsers(term, last.rank(), last.user().getCreatedAt(), last.user().getId(), 21).collectList().block();
+            users.forEach(user -> hits.add(user.rank() + ":" + user.user().getId()));
+            if (users.isEmpty()) {
+                break;
+            }
+            last = users.get(users.size() - 1);
+        }
+        return hits;
+    }
+
+    private static double medianMillis(Supplier<Long> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+        double[] samples = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+
+    private static String script(String location) throws Exception {
+        return StreamUtils.copyToString(new ClassPathResource(location).getInputStream(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+package com.eventlinkr.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+
+class UserSearchRepositoryImplTest {
+
+    private DatabaseClient databaseClient;
+    private UserWriteRepositoryImpl writeRepository;
+    private UserSearchRepositoryImpl searchRepository;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:pool:h2:mem:///search-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_users_table_postgres.sql"),
+                new ClassPathResource("db/migration/V5__add_users_insert_defaults_and_username_unique.sql"),
+                new ClassPathResource("db/migration/V6__add_users_version.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        MappingR2dbcConverter converter = new MappingR2dbcConverter(new R2dbcMappingContext());
+        writeRepository = new UserWriteRepositoryImpl(databaseClient, converter);
+        searchRepository = new UserSearchRepositoryImpl(databaseClient, converter);
+    }
+
+    @Test
+    void searchUsers_RanksExactThenPrefixThenWordPrefixThenContains() {
+        // Inserted in reverse so that recency alone would give the opposite order
+        insert("joanna", "Jo Smith");
+        insert("mary", "Mary Anne");
+        insert("annabel", "Bel Jones");
+        insert("ann", "Ann Lee");
+
+        List<RankedUser> hits = searchRepository.searchUsers("Ann", null, null, null, 10).collectList().block();
+
+        assertEquals(List.of("ann", "annabel", "mary", "joanna"), hits.stream().map(hit -> hit.user().getUsername()).toList());
+        assertEquals(List.of(0, 1, 2, 3), hits.stream().map(RankedUser::rank).toList());
+    }
+
+    @Test
+    void searchUsers_MatchesLikeWildcardsLiterally() {
+        insert("a_c", null);
+        insert("abc", null);
+        insert("100%off", null);
+        insert("100xoff", null);
+
+        assertEquals(List.of("a_c"), usernames(searchRepository.searchUsers("a_c", null, null, null, 10).collectList().block()));
+        assertEquals(List.of("100%off"), usernames(searchRepository.searchUsers("100%", null, null, null, 10).collectList().block()));
+        assertEquals(1L, searchRepository.countSearchResults("a_c").block());
+    }
+
+    @Test
+    void searchUsers_ContinuesAfterTheKeysetAcrossRanksAndTiedTimestamps() {
+        insert("kim", null);
+        for (int i = 0; i < 5; i++) {
+            insert("user" + i + "kim", null);
+            insert("kimberly" + i, null);
+        }
+        databaseClient.sql("UPDATE users SET created_at = :createdAt").bind("createdAt", Instant.parse("2024-05-01T10:00:00Z")).then().block();
+        databaseClient.sql("UPDATE users SET created_at = :createdAt WHERE username IN ('user0kim', 'kimberly0')")
+                .bind("createdAt", Instant.parse("2024-05-02T10:00:00Z")).then().block();
+
+        List<UUID> paged = new ArrayList<>();
+        RankedUser last = null;
+        List<RankedUser> page;
+        do {
+            page = last == null ? searchRepository.searchUsers("kim", null, null, null, 3).collectList().block()
+                    : searchRepository.searchUsers("kim", last.rank(), last.user().getCreatedAt(), last.user().getId(), 3).collectList().block();
+            page.forEach(hit -> paged.add(hit.user().getId()));
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == 3);
+
+        List<RankedUser> all = searchRepository.searchUsers("kim", null, null, null, 20).collectList().block();
+        assertEquals(11, all.size());
+        assertEquals(List.of("kim", "kimberly0", "user0kim"), usernames(List.of(all.get(0), all.get(1), all.get(6))));
+        assertEquals(all.stream().map(hit -> hit.user().getId()).toList(), paged);
+    }
+
+    @Test
+    void successor_BoundsThePrefixRangeInCodePointOrder() {
+        assertEquals("kin", UserSearchRepositoryImpl.successor("kim"));
+        assertEquals("a", UserSearchRepositoryImpl.successor("a퟿"));
+        assertEquals("a😁", UserSearchRepositoryImpl.successor("a😀"));
+        assertEquals("b", UserSearchRepositoryImpl.successor("a" + Character.toString(Character.MAX_CODE_POINT)));
+    }
+
+    private void insert(String username, String fullName) {
+        writeRepository.insertIfAbsent(User.builder().username(username).email(username.replace("%", "pct") + "@example.com").fullName(fullName)
+                .provider("google").providerId("g-" + username).build()).block();
+    }
+
+    private static List<String> usernames(List<RankedUser> hits) {
+        return hits.stream().map(hit -> hit.user().getUsername()).toList();
+    }
+}
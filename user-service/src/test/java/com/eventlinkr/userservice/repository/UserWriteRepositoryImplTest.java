@@ -0,0 +1,155 @@
+package com.eventlinkr.userservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.eventlinkr.userservice.domain.model.User;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+class UserWriteRepositoryImplTest {
+
+    private static final int CONTENDERS = 64;
+
+    private DatabaseClient databaseClient;
+    private UserWriteRepositoryImpl writeRepository;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:pool:h2:mem:///write-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_users_table_postgres.sql"),
+                new ClassPathResource("db/migration/V5__add_users_insert_defaults_and_username_unique.sql"),
+                new ClassPathResource("db/migration/V6__add_users_version.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        writeRepository = new UserWriteRepositoryImpl(databaseClient, new MappingR2dbcConverter(new R2dbcMappingContext()));
+    }
+
+    @Test
+    void insertIfAbsent_AppliesColumnDefaults() {
+        User saved = writeRepository.insertIfAbsent(user("alice", "alice@example.com")).block();
+
+        assertNotNull(saved);
+        assertNotNull(saved.getId());
+        assertEquals(User.UserStatus.PENDING_VERIFICATION, saved.getStatus());
+        assertNotNull(saved.getCreatedAt());
+        assertEquals(Boolean.FALSE, saved.getEmailVerified());
+    }
+
+    @Test
+    void insertIfAbsent_ReportsTakenKeys() {
+        writeRepository.insertIfAbsent(user("alice", "alice@example.com")).block();
+
+        User duplicate = user("alice", "alice@example.com");
+        assertNull(writeRepository.insertIfAbsent(duplicate).block());
+        assertEquals(Set.of("email", "username", "provider"), writeRepository.findTakenKeys(duplicate).block());
+        assertEquals(Set.of(), writeRepository.findTakenKeys(user("bob", "bob@example.com")).block());
+    }
+
+    @Test
+    void insertIfAbsent_UnderContention_ExactlyOneWinner() {
+        List<User> winners = Flux.range(0, CONTENDERS).parallel(CONTENDERS).runOn(Schedulers.boundedElastic())
+                .flatMap(i -> writeRepository.insertIfAbsent(user("contended" + i, "contended@example.com"))).sequential().collectList().block();
+
+        assertNotNull(winners);
+        assertEquals(1, winners.size());
+        assertEquals(1L, databaseClient.sql("SELECT COUNT(*) FROM users WHERE email = 'contended@example.com'").map(row -> row.get(0, Long.class))
+                .one().block());
+    }
+
+    @Test
+    void updateProfile_SetsOnlyGivenColumnsAndChecksVersion() {
+        User created = writeRepository.insertIfAbsent(User.builder().username("carol").email("carol@example.com").bio("Original bio").build()).block();
+        assertNotNull(created);
+
+        User updated = writeRepository.updateProfile(created.getId(), Map.of("headline", "Engineer"), created.getVersion()).block();
+
+        assertNotNull(updated);
+        assertEquals("Engineer", updated.getHeadline());
+        assertEquals("Original bio", updated.getBio());
+        assertEquals(created.getVersion() + 1, updated.getVersion());
+        assertNull(writeRepository.updateProfile(created.getId(), Map.of("headline", "Stale"), created.getVersion()).block());
+        assertNull(writeRepository.updateProfile(UUID.randomUUID(), Map.of("headline", "Missing"), null).block());
+    }
+
+    @Test
+    void updateProfile_DuplicateKeyLeavesRowIntact() {
+        User alice = writeRepository.insertIfAbsent(user("alice", "alice@example.com")).block();
+        writeRepository.insertIfAbsent(user("bob", "bob@example.com")).block();
+        assertNotNull(alice);
+
+        assertThrows(DuplicateKeyException.class, () -> writeRepository.updateProfile(alice.getId(), Map.of("username", "bob"), null).block());
+
+        assertEquals(2L, databaseClient.sql("SELECT COUNT(*) FROM users").map(row -> row.get(0, Long.class)).one().block());
+    }
+
+    /**
+     * Median latency of the previous exists-then-save path against the single
+     * statement insert. Run with
+     * {@code mvn test -Dbenchmark=true -Dtest=UserWriteRepositoryImplTest}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void singleStatementInsertLatency() {
+        int[] sequence = { 0 };
+        double existsThenInsert = medianMicros(() -> {
+            User user = user("two" + sequence[0], "two" + sequence[0]++ + "@example.com");
+            Instant now = Instant.now();
+            return databaseClient.sql("SELECT COUNT(*) FROM users WHERE email = :email").bind("email", user.getEmail())
+                    .map(row -> row.get(0, Long.class)).one()
+                    .then(databaseClient.sql("""
+                            INSERT INTO users (id, username, email, status, provider, provider_id, created_at, updated_at)
+                            VALUES (:id, :username, :email, :status, :provider, :providerId, :createdAt, :updatedAt)
+                            """).bind("id", UUID.randomUUID()).bind("username", user.getUsername()).bind("email", user.getEmail())
+                            .bind("status", User.UserStatus.PENDING_VERIFICATION.name()).bind("provider", user.getProvider())
+                            .bind("providerId", user.getProviderId()).bind("createdAt", now).bind("updatedAt", now).then())
+                    .block();
+        });
+        double singleStatement = medianMicros(() -> writeRepository.insertIfAbsent(user("one" + sequence[0], "one" + sequence[0]++ + "@example.com"))
+                .block());
+
+        System.out.printf("exists_then_insert_us=%.0f single_statement_insert_us=%.0f%n", existsThenInsert, singleStatement);
+        assertTrue(singleStatement < existsThenInsert);
+    }
+
+    private static double medianMicros(Supplier<?> insert) {
+        for (int i = 0; i < 500; i++) {
+            insert.get();
+        }
+        double[] samples = new double[2000];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            insert.get();
+            samples[i] = (System.nanoTime() - start) / 1_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private static User user(String username, String email) {
+        return User.builder().username(username).email(email).provider("google").providerId(email).build();
+    }
+}
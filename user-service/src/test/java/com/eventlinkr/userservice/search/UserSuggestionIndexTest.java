@@ -0,0 +1,155 @@
+package com.eventlinkr.userservice.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.eventlinkr.userservice.domain.dto.UserSuggestion;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.repository.UserRepository;
+
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+class UserSuggestionIndexTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSuggestionIndex(userRepository, 3);
+    }
+
+    @Test
+    void suggest_MatchesUsernameEmailAndFullNameWords() {
+        User john = user("johnd", "john@example.com", "John Doe");
+        User mary = user("mary", "mary@example.com", "Mary Johnson");
+        index.onUserCreated(john);
+        index.onUserCreated(mary);
+
+        assertEquals(List.of(john.getId(), mary.getId()), ids(index.suggest("JOHN", 10)));
+        assertEquals(List.of(john.getId()), ids(index.suggest("doe", 10)));
+        assertEquals(List.of(mary.getId()), ids(index.suggest("mary@", 10)));
+        assertTrue(index.suggest("", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ReturnsExactTokenBeforeLongerMatchesAndHonoursLimit() {
+        User johnny = user("johnny", "j1@example.com", null);
+        User john = user("john", "j2@example.com", null);
+        index.onUserCreated(johnny);
+        index.onUserCreated(john);
+
+        assertEquals(List.of(john.getId()), ids(index.suggest("john", 1)));
+    }
+
+    @Test
+    void onUserUpdated_ReplacesOldTokens() {
+        User user = user("oldname", "old@example.com", "Old Name");
+        index.onUserCreated(user);
+
+        user.setUsername("newname");
+        user.setFullName("New Name");
+        index.onUserUpdated(user);
+
+        assertTrue(index.suggest("oldname", 10).isEmpty());
+        assertEquals(List.of(user.getId()), ids(index.suggest("newn", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void onUserDeleted_RemovesEntryAndReusesSlot() {
+        User deleted = user("gone", "gone@example.com", null);
+        index.onUserCreated(deleted);
+        index.onUserDeleted(deleted);
+
+        User replacement = user("fresh", "fresh@example.com", null);
+        index.onUserCreated(replacement);
+
+        assertTrue(index.suggest("gone", 10).isEmpty());
+        assertEquals(List.of(replacement.getId()), ids(index.suggest("fresh", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void onUserCreated_StopsIndexingAtMaxEntries() {
+        for (int i = 0; i < 5; i++) {
+            index.onUserCreated(user("user" + i, "user" + i + "@example.com", null));
+        }
+
+        assertEquals(3, index.size());
+        assertEquals(3, index.suggest("user", 10).size());
+    }
+
+    @Test
+    void suggest_VerifiesPrefixesLongerThanIndexedTokens() {
+        String longName = "a".repeat(UserSuggestionIndex.MAX_TOKEN_LENGTH) + "bc";
+        User user = user(longName, "long@example.com", null);
+        index.onUserCreated(user);
+
+        assertEquals(List.of(user.getId()), ids(index.suggest(longName, 10)));
+        assertTrue(index.suggest("a".repeat(UserSuggestionIndex.MAX_TOKEN_LENGTH) + "x", 10).isEmpty());
+    }
+
+    @Test
+    void onUserCreated_GrowsAndShrinksSharedTokens() {
+        UserSuggestionIndex large = new UserSuggestionIndex(userRepository, 10_000);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            User user = user("john" + i, "john" + i + "@example.com", "John Doe");
+            users.add(user);
+            large.onUserCreated(user);
+        }
+        for (int i = 0; i < users.size(); i += 2) {
+            large.onUserDeleted(users.get(i));
+        }
+
+        assertEquals(500, large.suggest("doe", 2_000).size());
+        assertEquals(List.of(users.get(1).getId()), ids(large.suggest("john1@", 10)));
+        assertTrue(large.suggest("john0@", 10).isEmpty());
+    }
+
+    @Test
+    void load_SkipsRowsWrittenWhileLoading() {
+        Sinks.Many<User> rows = Sinks.many().unicast().onBackpressureBuffer();
+        when(userRepository.findAll()).thenReturn(rows.asFlux());
+        User renamed = user("before", "renamed@example.com", null);
+        User deleted = user("deleted", "deleted@example.com", null);
+        User untouched = user("untouched", "untouched@example.com", null);
+        index.load();
+
+        User afterRename = user("after", "renamed@example.com", null);
+        afterRename.setId(renamed.getId());
+        index.onUserUpdated(afterRename);
+        index.onUserDeleted(deleted);
+        rows.tryEmitNext(renamed);
+        rows.tryEmitNext(deleted);
+        rows.tryEmitNext(untouched);
+        rows.tryEmitComplete();
+
+        assertTrue(index.suggest("before", 10).isEmpty());
+        assertEquals(List.of(renamed.getId()), ids(index.suggest("after", 10)));
+        assertTrue(index.suggest("deleted", 10).isEmpty());
+        assertEquals(List.of(untouched.getId()), ids(index.suggest("untouched", 10)));
+    }
+
+    private static User user(String username, String email, String fullName) {
+        return User.builder().id(UUID.randomUUID()).username(username).email(email).fullName(fullName).build();
+    }
+
+    private static List<UUID> ids(List<UserSuggestion> suggestions) {
+        return suggestions.stream().map(UserSuggestion::id).toList();
+    }
+}
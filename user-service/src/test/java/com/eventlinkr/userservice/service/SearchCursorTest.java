@@ -0,0 +1,57 @@
+package com.eventlinkr.userservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.exception.ValidationException;
+import com.eventlinkr.userservice.repository.RankedUser;
+
+class SearchCursorTest {
+
+    @Test
+    void decode_ReadsBackTheEncodedPosition() {
+        User user = User.builder().id(UUID.randomUUID()).createdAt(Instant.parse("2024-05-01T10:15:30.123456Z")).build();
+        SearchCursor cursor = SearchCursor.after(new RankedUser(user, 2));
+
+        assertEquals(cursor, SearchCursor.decode(cursor.encode()));
+        assertEquals(new SearchCursor(2, user.getCreatedAt(), user.getId()), cursor);
+    }
+
+    @Test
+    void decode_TreatsMissingTokenAsFirstPage() {
+        assertSame(SearchCursor.FIRST_PAGE, SearchCursor.decode(null));
+        assertSame(SearchCursor.FIRST_PAGE, SearchCursor.decode(" "));
+    }
+
+    @Test
+    void decode_RejectsMalformedTokens() {
+        assertThrows(ValidationException.class, () -> SearchCursor.decode("not base64!"));
+        assertThrows(ValidationException.class, () -> SearchCursor.decode(token("1|2024-05-01T10:15:30Z")));
+        assertThrows(ValidationException.class, () -> SearchCursor.decode(token("one|2024-05-01T10:15:30Z|" + UUID.randomUUID())));
+        assertThrows(ValidationException.class, () -> SearchCursor.decode(token("1|yesterday|" + UUID.randomUUID())));
+        assertThrows(ValidationException.class, () -> SearchCursor.decode(token("1|2024-05-01T10:15:30Z|not-a-uuid")));
+    }
+
+    @Test
+    void decode_RejectsTamperedTokens() {
+        String valid = new SearchCursor(1, Instant.parse("2024-05-01T10:15:30Z"), UUID.randomUUID()).encode();
+
+        assertThrows(ValidationException.class, () -> SearchCursor.decode(valid.substring(0, valid.length() - 4)));
+        assertThrows(ValidationException.class, () -> SearchCursor.decode("x" + valid));
+        assertThrows(ValidationException.class, () -> SearchCursor.decode(token("4|2024-05-01T10:15:30Z|" + UUID.randomUUID())));
+        assertThrows(ValidationException.class, () -> SearchCursor.decode(token("-1|2024-05-01T10:15:30Z|" + UUID.randomUUID())));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,147 @@
+package com.eventlinkr.userservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.exception.ValidationException;
+import com.eventlinkr.userservice.repository.UserBulkRepositoryImpl;
+import com.eventlinkr.userservice.repository.UserLookupRepositoryImpl;
+import com.eventlinkr.userservice.repository.UserOutboxRepositoryImpl;
+import com.eventlinkr.userservice.repository.UserProjectionRepositoryImpl;
+import com.eventlinkr.userservice.repository.UserPurgeRepositoryImpl;
+import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.repository.UserSearchRepositoryImpl;
+import com.eventlinkr.userservice.repository.UserWriteRepositoryImpl;
+import com.eventlinkr.userservice.routing.ReadRouting;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Flux;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceExportTest {
+
+    private static final int CHUNK_SIZE = 2;
+    private static final Instant MAY_FIRST = Instant.parse("2024-05-01T10:00:00Z");
+    private static final Instant MAY_SECOND = Instant.parse("2024-05-02T10:00:00Z");
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ReadRouting readRouting;
+
+    @InjectMocks
+    private UserService userService;
+
+    private DatabaseClient databaseClient;
+    private UserRepository database;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:pool:h2:mem:///export-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_users_table_postgres.sql"),
+                new ClassPathResource("db/migration/V5__add_users_insert_defaults_and_username_unique.sql"),
+                new ClassPathResource("db/migration/V6__add_users_version.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        MappingR2dbcConverter converter = new MappingR2dbcConverter(new R2dbcMappingContext());
+        RepositoryFragments fragments = RepositoryFragments.just(new UserSearchRepositoryImpl(databaseClient, converter),
+                new UserBulkRepositoryImpl(databaseClient), new UserWriteRepositoryImpl(databaseClient, converter),
+                new UserProjectionRepositoryImpl(databaseClient, converter), new UserLookupRepositoryImpl(databaseClient, converter),
+                new UserPurgeRepositoryImpl(databaseClient, converter), new UserOutboxRepositoryImpl(databaseClient));
+        database = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory)).getRepository(UserRepository.class, fragments);
+        ReflectionTestUtils.setField(userService, "exportChunkSize", CHUNK_SIZE);
+
+        // Five users, three of them tied on updated_at, so that chunks split inside the tie
+        insert("alice", User.UserStatus.ACTIVE, MAY_FIRST);
+        insert("bob", User.UserStatus.PENDING_VERIFICATION, MAY_SECOND);
+        insert("carol", User.UserStatus.ACTIVE, MAY_SECOND);
+        insert("dave", User.UserStatus.ACTIVE, MAY_SECOND);
+        insert("erin", User.UserStatus.SUSPENDED, Instant.parse("2024-05-03T10:00:00Z"));
+    }
+
+    @Test
+    void exportUsers_StreamsEveryUserAcrossChunksAndStopsOnAShortChunk() {
+        readFromDatabase();
+
+        List<User> exported = userService.exportUsers(null, null, null, null).collectList().block();
+
+        assertEquals(database.findForExport(null, null, null, null, 10).map(User::getId).collectList().block(),
+                exported.stream().map(User::getId).toList());
+        // 2 + 2 + 1: the short third chunk ends the export without another query
+        verify(userRepository, times(3)).findForExport(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void exportUsers_ReadsOneEmptyChunkWhenTheLastChunkIsFull() {
+        readFromDatabase();
+        databaseClient.sql("DELETE FROM users WHERE username = 'erin'").then().block();
+
+        assertEquals(4, userService.exportUsers(null, null, null, null).collectList().block().size());
+        verify(userRepository, times(3)).findForExport(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void exportUsers_ResumesAfterTheWatermark() {
+        readFromDatabase();
+        List<User> all = database.findForExport(null, null, null, null, 10).collectList().block();
+        User watermark = all.get(2);
+
+        List<User> resumed = userService.exportUsers(null, null, watermark.getUpdatedAt(), watermark.getId()).collectList().block();
+
+        assertEquals(all.subList(3, 5).stream().map(User::getId).toList(), resumed.stream().map(User::getId).toList());
+    }
+
+    @Test
+    void exportUsers_FiltersByStatusAndUpdatedSince() {
+        readFromDatabase();
+
+        List<User> exported = userService.exportUsers(User.UserStatus.ACTIVE, MAY_SECOND, null, null).collectList().block();
+
+        assertEquals(List.of("carol", "dave"), exported.stream().map(User::getUsername).sorted().toList());
+    }
+
+    @Test
+    void exportUsers_RejectsAHalfSpecifiedWatermark() {
+        assertThrows(ValidationException.class, () -> userService.exportUsers(null, null, MAY_SECOND, null).blockLast());
+        assertThrows(ValidationException.class, () -> userService.exportUsers(null, null, null, UUID.randomUUID()).blockLast());
+        verify(userRepository, never()).findForExport(any(), any(), any(), any(), anyInt());
+    }
+
+    private void readFromDatabase() {
+        when(readRouting.read(any(Flux.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findForExport(any(), any(), any(), any(), anyInt())).thenAnswer(invocation -> database.findForExport(invocation.getArgument(0),
+                invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3), invocation.getArgument(4)));
+    }
+
+    private void insert(String username, User.UserStatus status, Instant updatedAt) {
+        databaseClient.sql("INSERT INTO users (username, email, status, created_at, updated_at) VALUES (:username, :email, :status, :at, :at)")
+                .bind("username", username).bind("email", username + "@example.com").bind("status", status.name()).bind("at", updatedAt).then().block();
+    }
+}
@@ -0,0 +1,81 @@
+package com.eventlinkr.userservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.eventlinkr.userservice.domain.dto.UserSearchPage;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.repository.RankedUser;
+import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.routing.ReadRouting;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceSearchTest {
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ReadRouting readRouting;
+
+    @InjectMocks
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        when(readRouting.read(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void searchUsers_OmitsNextTokenWhenPageIsExactlyFull() {
+        List<RankedUser> hits = List.of(hit(0, 3), hit(1, 2));
+        when(userRepository.searchUsers("jo", null, null, null, 3)).thenReturn(Flux.fromIterable(hits));
+
+        UserSearchPage<User> page = userService.searchUsers("jo", null, 2, false).block();
+
+        assertNotNull(page);
+        assertEquals(2, page.getContent().size());
+        assertNull(page.getNextPageToken());
+    }
+
+    @Test
+    void searchUsers_ResumesAfterLastReturnedHit() {
+        RankedUser last = hit(1, 2);
+        when(userRepository.searchUsers("jo", null, null, null, 3)).thenReturn(Flux.just(hit(0, 3), last, hit(2, 1)));
+
+        UserSearchPage<User> first = userService.searchUsers("jo", null, 2, false).block();
+
+        assertNotNull(first);
+        assertEquals(2, first.getContent().size());
+        assertEquals(SearchCursor.after(last), SearchCursor.decode(first.getNextPageToken()));
+
+        when(userRepository.searchUsers("jo", 1, last.user().getCreatedAt(), last.user().getId(), 3)).thenReturn(Flux.just(hit(2, 1)));
+
+        UserSearchPage<User> second = userService.searchUsers("jo", first.getNextPageToken(), 2, false).block();
+
+        assertNotNull(second);
+        assertEquals(1, second.getContent().size());
+        assertNull(second.getNextPageToken());
+    }
+
+    private static RankedUser hit(int rank, int minutesAgo) {
+        User user = User.builder().id(UUID.randomUUID()).username("jo" + minutesAgo).createdAt(Instant.parse("2024-05-01T10:00:00Z").minusSeconds(minutesAgo * 60L))
+                .build();
+        return new RankedUser(user, rank);
+    }
+}
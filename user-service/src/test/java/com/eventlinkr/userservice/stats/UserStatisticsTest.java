@@ -0,0 +1,146 @@
+package com.eventlinkr.userservice.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.eventlinkr.userservice.domain.dto.UserStats;
+import com.eventlinkr.userservice.domain.model.User;
+import com.eventlinkr.userservice.repository.UserRepository;
+import com.eventlinkr.userservice.repository.UserStatusUpdate;
+import com.eventlinkr.userservice.routing.ReadRouting;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+
+class UserStatisticsTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-10T12:30:00Z"));
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserStatistics statistics = new UserStatistics(userRepository,
+            new ReadRouting(new SimpleMeterRegistry(), List.of(), Duration.ofSeconds(5), 100), clock);
+
+    @Test
+    void writes_AdjustCountsUntilTheyRollOutOfTheWindow() {
+        User first = user(User.UserStatus.PENDING_VERIFICATION, clock.instant());
+        statistics.onUserCreated(first);
+        statistics.onUserCreated(user(User.UserStatus.PENDING_VERIFICATION, clock.instant().minus(Duration.ofHours(3))));
+        statistics.onUserDeleted(first);
+
+        UserStats stats = statistics.snapshot();
+        assertEquals(1, stats.createdLast24Hours());
+        assertEquals(1, stats.createdPerHour().get(20).created());
+        assertEquals(Instant.parse("2026-03-10T09:00:00Z"), stats.createdPerHour().get(20).hour());
+        assertEquals(1, stats.statusLast7Days().get(User.UserStatus.PENDING_VERIFICATION));
+
+        clock.now = clock.now.plus(Duration.ofHours(22));
+        assertEquals(0, statistics.snapshot().createdLast24Hours());
+        assertEquals(1, statistics.snapshot().statusLast7Days().get(User.UserStatus.PENDING_VERIFICATION));
+        clock.now = clock.now.plus(Duration.ofDays(7));
+        assertEquals(0, statistics.snapshot().statusLast7Days().get(User.UserStatus.PENDING_VERIFICATION));
+    }
+
+    @Test
+    void reconcile_ReplacesCountsWithTheDatabase() {
+        statistics.onUserCreated(user(User.UserStatus.ACTIVE, clock.instant()));
+        Instant yesterday = clock.instant().minus(Duration.ofDays(1));
+        when(userRepository.findCreatedAtSince(any(Instant.class))).thenReturn(Flux.just(yesterday, yesterday, clock.instant()));
+        when(userRepository.findStatusUpdatesSince(any(Instant.class))).thenReturn(Flux.just(
+                new UserStatusUpdate(UUID.randomUUID(), User.UserStatus.SUSPENDED, yesterday),
+                new UserStatusUpdate(UUID.randomUUID(), User.UserStatus.ACTIVE, yesterday), new UserStatusUpdate(UUID.randomUUID(), null, yesterday)));
+
+        UserStats stats = statistics.reconcile().block();
+
+        assertNotNull(stats);
+        assertEquals(clock.instant(), stats.reconciledAt());
+        assertEquals(1, stats.createdLast24Hours());
+        assertEquals(1, stats.statusLast7Days().get(User.UserStatus.ACTIVE));
+        UserStats.DayCounts day = stats.statusPerDay().get(5);
+        assertEquals(LocalDate.ofInstant(yesterday, ZoneOffset.UTC), day.day());
+        assertEquals(1, day.statuses().get(User.UserStatus.SUSPENDED));
+    }
+
+    @Test
+    void onUserUpdated_MovesTheUserInsteadOfCountingItAgain() {
+        User created = user(User.UserStatus.ACTIVE, clock.instant().minus(Duration.ofDays(2)));
+        statistics.onUserCreated(created);
+        for (int i = 0; i < 5; i++) {
+            clock.now = clock.now.plus(Duration.ofMinutes(1));
+            statistics.onUserUpdated(user(created.getId(), User.UserStatus.ACTIVE, clock.instant()));
+        }
+
+        UserStats stats = statistics.snapshot();
+        assertEquals(1, stats.statusLast7Days().get(User.UserStatus.ACTIVE));
+        assertEquals(0, stats.statusPerDay().get(4).statuses().get(User.UserStatus.ACTIVE));
+        assertEquals(1, stats.statusPerDay().get(6).statuses().get(User.UserStatus.ACTIVE));
+
+        statistics.onUserUpdated(user(created.getId(), User.UserStatus.SUSPENDED, clock.instant()));
+        stats = statistics.snapshot();
+        assertEquals(0, stats.statusLast7Days().get(User.UserStatus.ACTIVE));
+        assertEquals(1, stats.statusLast7Days().get(User.UserStatus.SUSPENDED));
+
+        statistics.onUserDeleted(created);
+        assertEquals(0, statistics.snapshot().statusLast7Days().get(User.UserStatus.SUSPENDED));
+    }
+
+    @Test
+    void reconcile_KeepsWritesMadeWhileItStreams() {
+        User user = user(User.UserStatus.ACTIVE, clock.instant().minus(Duration.ofDays(1)));
+        when(userRepository.findCreatedAtSince(any(Instant.class))).thenReturn(Flux.empty());
+        when(userRepository.findStatusUpdatesSince(any(Instant.class))).thenReturn(Flux.defer(() -> {
+            statistics.onUserUpdated(user(user.getId(), User.UserStatus.ACTIVE, clock.instant()));
+            return Flux.just(new UserStatusUpdate(user.getId(), User.UserStatus.ACTIVE, user.getUpdatedAt()));
+        }));
+
+        UserStats stats = statistics.reconcile().block();
+
+        assertNotNull(stats);
+        assertEquals(1, stats.statusLast7Days().get(User.UserStatus.ACTIVE));
+        assertEquals(1, stats.statusPerDay().get(6).statuses().get(User.UserStatus.ACTIVE));
+    }
+
+    private static User user(User.UserStatus status, Instant at) {
+        return user(UUID.randomUUID(), status, at);
+    }
+
+    private static User user(UUID id, User.UserStatus status, Instant at) {
+        return User.builder().id(id).status(status).createdAt(at).updatedAt(at).build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.eventlinkr.userservice.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class SingleFlightTest {
+
+    private Counter coalesced;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        coalesced = new SimpleMeterRegistry().counter("coalesced");
+        singleFlight = new SingleFlight<>(coalesced);
+    }
+
+    @Test
+    void execute_ConcurrentCallersShareOneCall() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+
+        Mono<String> first = singleFlight.execute("key", () -> result.asMono().doOnSubscribe(s -> calls.incrementAndGet()));
+        Mono<String> second = singleFlight.execute("key", () -> result.asMono().doOnSubscribe(s -> calls.incrementAndGet()));
+
+        StepVerifier.create(Mono.zip(first, second)).then(() -> result.tryEmitValue("value"))
+                .assertNext(pair -> {
+                    assertEquals("value", pair.getT1());
+                    assertEquals("value", pair.getT2());
+                }).verifyComplete();
+        assertEquals(1, calls.get());
+        assertEquals(1.0, coalesced.count());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void execute_PropagatesErrorsToEveryCaller() {
+        Sinks.One<String> result = Sinks.one();
+        Mono<String> first = singleFlight.execute("key", result::asMono);
+        Mono<String> second = singleFlight.execute("key", result::asMono);
+
+        StepVerifier.create(Mono.when(first.onErrorResume(e -> Mono.empty()), second)).then(() -> result.tryEmitError(new IllegalStateException("boom")))
+                .verifyError(IllegalStateException.class);
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void execute_StartsFreshCallAfterEveryCallerCancels() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> first = singleFlight.execute("key", () -> Mono.<String>never().doOnSubscribe(s -> calls.incrementAndGet()));
+        Mono<String> second = singleFlight.execute("key", () -> Mono.<String>never().doOnSubscribe(s -> calls.incrementAndGet()));
+
+        Disposable subscription = Mono.zip(first, second).subscribe();
+        assertEquals(1, singleFlight.inFlightCount());
+        subscription.dispose();
+        assertEquals(0, singleFlight.inFlightCount());
+
+        assertEquals("fresh", singleFlight.execute("key", () -> Mono.just("fresh").doOnSubscribe(s -> calls.incrementAndGet())).block());
+        assertEquals(2, calls.get());
+        assertEquals(1.0, coalesced.count());
+    }
+
+    @Test
+    void execute_StartsFreshCallAfterCompletion() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("1", singleFlight.execute("key", () -> Mono.fromCallable(() -> String.valueOf(calls.incrementAndGet()))).block());
+        assertEquals("2", singleFlight.execute("key", () -> Mono.fromCallable(() -> String.valueOf(calls.incrementAndGet()))).block());
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> Mono.<String>error(new IllegalStateException())).block());
+        assertEquals("3", singleFlight.execute("key", () -> Mono.fromCallable(() -> String.valueOf(calls.incrementAndGet()))).block());
+        assertEquals(0.0, coalesced.count());
+    }
+}
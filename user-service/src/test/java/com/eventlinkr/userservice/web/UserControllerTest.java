@@ -2,8 +2,13 @@ package com.eventlinkr.userservice.web;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -13,17 +18,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import com.eventlinkr.userservice.domain.dto.CreateUserRequest;
+import com.eventlinkr.userservice.domain.dto.UserExportRecord;
+import com.eventlinkr.userservice.domain.dto.UserImportResult;
 import com.eventlinkr.userservice.domain.dto.UserProfileUpdateRequest;
+import com.eventlinkr.userservice.domain.dto.UserSearchPage;
+import com.eventlinkr.userservice.domain.dto.UserSuggestion;
+import com.eventlinkr.userservice.domain.dto.UserVersion;
 import com.eventlinkr.userservice.domain.model.User;
 import com.eventlinkr.userservice.service.UserService;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,7 +56,7 @@ class UserControllerTest {
 
         when(userService.getUserById(mockUser.getId().toString())).thenReturn(Mono.just(mockUser));
 
-        ResponseEntity<User> response = userController.getUserById(mockUser.getId().toString()).block();
+        ResponseEntity<User> response = userController.getUserById(mockUser.getId().toString(), null, null).block();
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -61,12 +70,77 @@ class UserControllerTest {
         String userId = UUID.randomUUID().toString();
         when(userService.getUserById(userId)).thenReturn(Mono.empty());
 
-        ResponseEntity<User> response = userController.getUserById(userId).block();
+        ResponseEntity<User> response = userController.getUserById(userId, null, null).block();
 
         assertNotNull(response);
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
+    // GET /api/user/{id} - If-None-Match still current
+    @Test
+    void testGetUserById_NotModified() {
+        String userId = UUID.randomUUID().toString();
+        UserVersion version = new UserVersion(3, Instant.parse("2024-05-01T10:15:30.123456Z"));
+        when(userService.getUserVersion(userId)).thenReturn(Mono.just(version));
+
+        ResponseEntity<User> response = userController.getUserById(userId, version.eTag().formattedTag(), null).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(version.eTag().formattedTag(), response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(userService, never()).getUserById(anyString());
+    }
+
+    // GET /api/user/{id} - If-None-Match outdated
+    @Test
+    void testGetUserById_Modified() {
+        User mockUser = new User();
+        mockUser.setId(UUID.randomUUID());
+        mockUser.setVersion(4L);
+        mockUser.setUpdatedAt(Instant.parse("2024-05-02T08:00:00Z"));
+        String userId = mockUser.getId().toString();
+        when(userService.getUserVersion(userId)).thenReturn(Mono.just(UserVersion.of(mockUser)));
+        when(userService.getUserById(userId)).thenReturn(Mono.just(mockUser));
+
+        ResponseEntity<User> response = userController.getUserById(userId, "\"3-1714558530123456\"", null).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4-1714636800000000\"", response.getHeaders().getETag());
+        assertEquals(mockUser.getUpdatedAt().toEpochMilli(), response.getHeaders().getLastModified());
+        assertEquals(mockUser, response.getBody());
+    }
+
+    // GET /api/user/{id} - If-None-Match of another format
+    @Test
+    void testGetUserById_OtherRepresentation() {
+        User mockUser = new User();
+        mockUser.setId(UUID.randomUUID());
+        mockUser.setVersion(4L);
+        mockUser.setUpdatedAt(Instant.parse("2024-05-02T08:00:00Z"));
+        String userId = mockUser.getId().toString();
+        when(userService.getUserVersion(userId)).thenReturn(Mono.just(UserVersion.of(mockUser)));
+        when(userService.getUserById(userId)).thenReturn(Mono.just(mockUser));
+
+        ResponseEntity<User> response = userController.getUserById(userId, "\"4-1714636800000000\"", "application/cbor").block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4-1714636800000000+cbor\"", response.getHeaders().getETag());
+        assertEquals(mockUser, response.getBody());
+    }
+
+    @Test
+    void testRepresentation() {
+        assertEquals(MediaType.APPLICATION_JSON, UserController.representation(null));
+        assertEquals(MediaType.APPLICATION_JSON, UserController.representation("*/*"));
+        assertEquals(MediaType.APPLICATION_CBOR, UserController.representation("application/cbor"));
+        assertEquals(MediaType.APPLICATION_CBOR, UserController.representation("application/*, application/cbor"));
+        assertEquals(MediaType.APPLICATION_JSON, UserController.representation("application/cbor;q=0.5, application/json"));
+        assertEquals("x-jackson-smile", UserController.representation("application/x-jackson-smile").getSubtype());
+    }
+
     // GET /api/user/me
     @Test
     void testGetCurrentUser() {
@@ -84,20 +158,50 @@ class UserControllerTest {
     @Test
     void testSearchUsers() {
         String query = "john";
-        int page = 0;
         int size = 10;
         List<User> users = Arrays.asList(new User(), new User());
-        PageImpl<User> userPage = new PageImpl<>(users, PageRequest.of(page, size), users.size());
+        UserSearchPage<User> userPage = new UserSearchPage<>(users, size, null, 2L);
 
-        when(userService.searchUsers(query, PageRequest.of(page, size))).thenReturn(Mono.just(userPage));
+        when(userService.searchUsers(query, null, size, true)).thenReturn(Mono.just(userPage));
 
-        ResponseEntity<Page<User>> response = userController.searchUsers(query, page, size).block();
+        ResponseEntity<UserSearchPage<User>> response = userController.searchUsers(query, null, size, true).block();
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        Page<User> body = response.getBody();
+        UserSearchPage<User> body = response.getBody();
         assertNotNull(body);
-        assertEquals(2, body.getTotalElements());
+        assertEquals(2, body.getContent().size());
+        assertEquals(Long.valueOf(2), body.getTotalElements());
+    }
+
+    // GET /api/user/search - next page token is passed through
+    @Test
+    void testSearchUsers_WithPageToken() {
+        List<User> users = Arrays.asList(new User());
+        UserSearchPage<User> userPage = new UserSearchPage<>(users, 1, "next-token", null);
+
+        when(userService.searchUsers(null, "token", 1, false)).thenReturn(Mono.just(userPage));
+
+        ResponseEntity<UserSearchPage<User>> response = userController.searchUsers(null, "token", 1, false).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("next-token", response.getBody().getNextPageToken());
+        assertNull(response.getBody().getTotalElements());
+    }
+
+    // GET /api/user/suggest
+    @Test
+    void testSuggestUsers() {
+        List<UserSuggestion> suggestions = List.of(new UserSuggestion(UUID.randomUUID(), "johndoe", "John Doe", null));
+
+        when(userService.suggestUsers("joh", 10)).thenReturn(Mono.just(suggestions));
+
+        ResponseEntity<List<UserSuggestion>> response = userController.suggestUsers("joh", 10).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("johndoe", response.getBody().get(0).username());
     }
 
     // GET /api/user/by-provider - user exists
@@ -169,6 +273,45 @@ class UserControllerTest {
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
 
+    // POST /api/user/batch - import results streamed per record
+    @Test
+    void testImportUsers() {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setUsername("importuser");
+        request.setEmail("import@example.com");
+        Flux<CreateUserRequest> requests = Flux.just(request);
+        UUID id = UUID.randomUUID();
+
+        when(userService.importUsers(requests)).thenReturn(
+                Flux.just(UserImportResult.created(0, id), UserImportResult.failed(1, List.of("email: Invalid email format"))));
+
+        List<UserImportResult> results = userController.importUsers(requests).collectList().block();
+
+        assertNotNull(results);
+        assertEquals(2, results.size());
+        assertEquals(id, results.get(0).id());
+        assertEquals(UserImportResult.Status.FAILED, results.get(1).status());
+    }
+
+    // GET /api/user/export?format=csv - header then one escaped line per user
+    @Test
+    void testExportUsersAsCsv() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("exportuser");
+        user.setEmail("export@example.com");
+        user.setFullName("Doe, \"JD\" John");
+
+        when(userService.exportUsers(User.UserStatus.ACTIVE, null, null, null)).thenReturn(Flux.just(user));
+
+        List<String> lines = userController.exportUsersAsCsv(User.UserStatus.ACTIVE, null, null, null).collectList().block();
+
+        assertNotNull(lines);
+        assertEquals(2, lines.size());
+        assertEquals(UserExportRecord.CSV_HEADER, lines.get(0));
+        assertEquals(user.getId() + ",exportuser,export@example.com,\"Doe, \"\"JD\"\" John\",,,,,PENDING_VERIFICATION,,,false,,,\n", lines.get(1));
+    }
+
     // PUT /api/user/{id} - update user profile success
     @Test
     void testUpdateUserProfile_Success() {
@@ -188,7 +331,7 @@ class UserControllerTest {
 
         when(userService.updateUserProfile(userId, updateRequest)).thenReturn(Mono.just(updatedUser));
 
-        ResponseEntity<User> response = userController.updateUserProfile(userId, updateRequest).block();
+        ResponseEntity<User> response = userController.updateUserProfile(userId, updateRequest, null, null).block();
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -196,6 +339,25 @@ class UserControllerTest {
         assertEquals("updatedUser", response.getBody().getUsername());
     }
 
+    // PUT /api/user/{id} - conditional update
+    @Test
+    void testUpdateUserProfile_IfMatch() {
+        String userId = UUID.randomUUID().toString();
+        UserProfileUpdateRequest updateRequest = new UserProfileUpdateRequest();
+        updateRequest.setUsername("updatedUser");
+        User updatedUser = new User();
+        updatedUser.setId(UUID.fromString(userId));
+        updatedUser.setVersion(5L);
+
+        when(userService.updateUserProfile(userId, updateRequest, "\"4-0\"")).thenReturn(Mono.just(updatedUser));
+
+        ResponseEntity<User> response = userController.updateUserProfile(userId, updateRequest, "\"4-0\"", null).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"5-0\"", response.getHeaders().getETag());
+    }
+
     // PUT /api/user/{id} - update user profile not found
     @Test
     void testUpdateUserProfile_NotFound() {
@@ -208,7 +370,7 @@ class UserControllerTest {
 
         when(userService.updateUserProfile(userId, updateRequest)).thenReturn(Mono.empty());
 
-        ResponseEntity<User> response = userController.updateUserProfile(userId, updateRequest).block();
+        ResponseEntity<User> response = userController.updateUserProfile(userId, updateRequest, null, null).block();
 
         assertNotNull(response);
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -227,12 +389,35 @@ class UserControllerTest {
         when(userService.updateUserProfile(userId, updateRequest))
                 .thenReturn(Mono.error(new IllegalArgumentException("Invalid input")));
 
-        ResponseEntity<User> response = userController.updateUserProfile(userId, updateRequest).block();
+        ResponseEntity<User> response = userController.updateUserProfile(userId, updateRequest, null, null).block();
 
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
 
+    // PATCH /api/user/{id} - patch user profile success
+    @Test
+    void testPatchUserProfile_Success() {
+        String userId = UUID.randomUUID().toString();
+        UserProfileUpdateRequest request = new UserProfileUpdateRequest();
+        request.setHeadline("Engineer");
+        request.setVersion(3L);
+
+        User updatedUser = new User();
+        updatedUser.setId(UUID.fromString(userId));
+        updatedUser.setHeadline("Engineer");
+        updatedUser.setVersion(4L);
+
+        when(userService.patchUserProfile(userId, request)).thenReturn(Mono.just(updatedUser));
+
+        ResponseEntity<User> response = userController.patchUserProfile(userId, request).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(Long.valueOf(4L), response.getBody().getVersion());
+    }
+
     // DELETE /api/user/{id} - delete user success
     @Test
     void testDeleteUser_Success() {